@@ -0,0 +1,118 @@
+package com.drycleaning.system.benchmark;
+
+import com.drycleaning.system.DryCleaningSystemApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.DigestUtils;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基准测试用的临时 SQLite 数据库，按订单数生成固定种子的数据
+ * <p>
+ * 同一订单数的数据只生成一次，作为模板库缓存在系统临时目录（文件名包含 init.sql 的摘要，表结构变化后自动重新生成）；
+ * 模板库生成后先启动一次应用，由 DatabaseInitializer 完成建索引、重建日汇总、生成期初流水等初始化，
+ * 之后每次试验复制一份模板库并在副本上启动应用，互不影响。
+ * <p>
+ * 数据由 DataGenerator 生成：最近两年的历史，客户数为订单数的 1/10（至少 100 个），
+ * 充值记录为订单数的 1/5，平均每单 3 件衣物。
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+
+    private static final long SEED = 42;
+
+    private static final int HISTORY_YEARS = 2;
+
+    /**
+     * 模板库数据的版本，DataGenerator 的生成规则变化时加一，使缓存的旧模板失效
+     */
+    private static final int DATA_VERSION = 3;
+
+    private final File file;
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkDatabase(File file, ConfigurableApplicationContext context) {
+        this.file = file;
+        this.context = context;
+    }
+
+    /**
+     * 复制对应订单数的模板库（不存在时先生成）并在副本上启动应用（不启动 Web 服务）
+     */
+    public static BenchmarkDatabase start(int orders) throws Exception {
+        Path template = template(orders);
+        File file = Files.createTempFile("benchmark-" + orders + "-", ".db").toFile();
+        Files.copy(template, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return new BenchmarkDatabase(file, startApplication(file));
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        delete(file);
+    }
+
+    private static synchronized Path template(int orders) throws Exception {
+        String schemaDigest;
+        try (InputStream in = new ClassPathResource("db/init.sql").getInputStream()) {
+            schemaDigest = DigestUtils.md5DigestAsHex(in).substring(0, 8);
+        }
+        Path template = Paths.get(System.getProperty("java.io.tmpdir"),
+                "dry-cleaning-benchmark-" + orders + "-v" + DATA_VERSION + "-" + schemaDigest + ".db");
+        if (Files.exists(template)) {
+            return template;
+        }
+
+        File building = Files.createTempFile("dry-cleaning-benchmark-", ".building").toFile();
+        try {
+            long start = System.nanoTime();
+            new DataGenerator(SEED, Math.max(100, orders / 10), orders, orders * 3L, orders / 5, HISTORY_YEARS)
+                    .generate(building);
+            // 启动一次应用完成初始化，关闭后改回单文件的 DELETE 日志模式，便于直接复制
+            startApplication(building).close();
+            try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + building.getAbsolutePath());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=DELETE");
+            }
+            Files.move(building.toPath(), template, StandardCopyOption.ATOMIC_MOVE);
+            System.out.printf("Seeded benchmark database with %d orders in %d s: %s%n",
+                    orders, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), template);
+        } finally {
+            delete(building);
+        }
+        return template;
+    }
+
+    private static ConfigurableApplicationContext startApplication(File db) {
+        // 以命令行参数传入，优先级高于 application.properties，保证不会写到工作目录下的 dry_cleaning.db
+        return new SpringApplicationBuilder(DryCleaningSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:sqlite:" + db.getAbsolutePath(),
+                        "--mybatis-plus.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.drycleaning.system=WARN",
+                        "--spring.main.banner-mode=off");
+    }
+
+    private static void delete(File db) {
+        for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+            new File(db.getAbsolutePath() + suffix).delete();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.drycleaning.system.benchmark;
+
+import com.drycleaning.system.DryCleaningSystemApplication;
+import com.drycleaning.system.enums.ClothesStatus;
+import com.drycleaning.system.model.Customer;
+import com.drycleaning.system.model.Order;
+import com.drycleaning.system.service.CustomerService;
+import com.drycleaning.system.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 持续插入订单的同时并发读取订单的吞吐量，对比 WAL 与原来的 DELETE 日志模式
+ * 每组 1 个线程不停地创建订单，4 个线程交替读取订单列表首页和按 id 查询订单
+ * 运行：java -jar benchmarks/target/benchmarks.jar ConcurrentReadBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentReadBenchmark {
+
+    private static final int INITIAL_ORDERS = 2000;
+
+    @Param({"WAL", "DELETE"})
+    private String journalMode;
+
+    private ConfigurableApplicationContext context;
+
+    private OrderService orderService;
+
+    private File db;
+
+    private Long customerId;
+
+    private final AtomicLong orderSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = Files.createTempFile("concurrent-read", ".db").toFile();
+        // 以命令行参数传入，优先级高于 application.properties，保证不会写到工作目录下的 dry_cleaning.db
+        context = new SpringApplicationBuilder(DryCleaningSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:sqlite:" + db.getAbsolutePath(),
+                        "--sqlite.journal-mode=" + journalMode,
+                        "--mybatis-plus.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.drycleaning.system=WARN",
+                        "--spring.main.banner-mode=off");
+        orderService = context.getBean(OrderService.class);
+
+        Customer customer = new Customer();
+        customer.setName("并发读取测试");
+        customer.setPhone("13900000000");
+        customerId = context.getBean(CustomerService.class).createCustomer(customer).getId();
+        for (int i = 0; i < INITIAL_ORDERS; i++) {
+            insertOrder();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+            new File(db.getAbsolutePath() + suffix).delete();
+        }
+    }
+
+    @Benchmark
+    @Group("readWhileInserting")
+    @GroupThreads(1)
+    public Order insert() {
+        return insertOrder();
+    }
+
+    @Benchmark
+    @Group("readWhileInserting")
+    @GroupThreads(4)
+    public Object read() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextBoolean()) {
+            return orderService.getOrdersPage(null, 50, null);
+        }
+        return orderService.getOrderById(1L + random.nextLong(INITIAL_ORDERS));
+    }
+
+    private Order insertOrder() {
+        Order order = new Order();
+        order.setOrderNo("B" + journalMode + orderSequence.incrementAndGet());
+        order.setCustomerId(customerId);
+        order.setTotalPriceCents(2500L);
+        order.setPayType("CASH");
+        order.setUrgent(0);
+        order.setStatus(ClothesStatus.UNWASHED.name());
+        return orderService.createOrder(order);
+    }
+}
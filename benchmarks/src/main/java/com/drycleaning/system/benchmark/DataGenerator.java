@@ -0,0 +1,561 @@
+package com.drycleaning.system.benchmark;
+
+import com.drycleaning.system.enums.ClothesStatus;
+import com.drycleaning.system.util.MoneyUtil;
+import com.drycleaning.system.util.PinyinUtil;
+import com.drycleaning.system.util.TimeUtil;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按固定种子生成一家门店若干年的模拟数据，写入 customer、orders、clothes、recharge_record 四张表
+ * <p>
+ * 数据特征：
+ * 姓氏按常见程度加权，名字用字包含大量同音字（伟/薇/威、静/晶/敬……），拼音首字母和全拼都会大量重复，也有少量多音字姓氏和英文名；
+ * 订单量有季节性（换季的 3~4 月、11~12 月最多，春节所在的 2 月最少）、周末高峰和逐年增长，营业时间 8:00 ~ 21:00；
+ * 每单 1 ~ 30 件衣物，衣物种类随季节变化；约 8% 加急；
+ * 约 35% 的客户是储值会员，充值记录只属于会员，会员余额足够时用储值支付，否则付现金；最近几天的订单还没有取走，部分未支付。
+ * 客户余额为充值（含赠送）减去储值消费；日汇总、余额流水由应用首次启动时根据这些数据生成。
+ * <p>
+ * 表结构取自 db/init.sql，先建表、在一个事务中用批量的预编译语句写入全部数据，最后再建索引。
+ * 相同的种子和行数生成完全相同的数据（日期相对于生成当天）。
+ * <p>
+ * 运行：
+ * java -cp benchmarks/target/benchmarks.jar com.drycleaning.system.benchmark.DataGenerator \
+ *     --db=/tmp/store.db --seed=42 --years=3 --customers=50000 --orders=2500000 --clothes=10000000 --recharges=300000
+ */
+public class DataGenerator {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final int MAX_CLOTHES_PER_ORDER = 30;
+
+    /**
+     * 开始时已有的老客户比例，其余客户在整个时间段内陆续新增
+     */
+    private static final double EXISTING_CUSTOMER_RATIO = 0.3;
+
+    private static final int MEMBER_PERCENT = 35;
+
+    private static final int URGENT_PERCENT = 8;
+
+    private static final int OPEN_HOUR = 8;
+    private static final int BUSINESS_HOURS = 13;
+
+    /**
+     * 姓氏及其权重（大致按人口比例；末尾为多音字姓氏）
+     */
+    private static final String SURNAMES = "王李张刘陈杨黄赵吴周徐孙马朱胡郭何高林罗郑梁谢宋唐许韩冯邓曹曾单解查仇区";
+    private static final int[] SURNAME_WEIGHTS = {
+            71, 70, 66, 54, 45, 31, 22, 21, 20, 19, 15, 15, 14, 13, 13, 12, 11, 11, 11, 9, 9, 9, 8, 8, 7, 7, 7, 7, 7, 6,
+            6, 1, 1, 1, 1, 1
+    };
+
+    /**
+     * 名字用字，同音字放在一起
+     */
+    private static final String GIVEN = "伟薇威玮静晶敬婧丽莉立俐明鸣铭敏华桦骅玲琳灵凌芳方舫杰洁婕捷军君俊峻婷亭霆"
+            + "强蔷磊蕾雷勇涌永艳燕妍彦涛韬桃娟鹃隽平萍坪刚钢纲霞侠超潮晨辰宸宇雨语玉欣鑫馨新浩昊皓豪";
+
+    private static final int[] PHONE_PREFIXES = {
+            130, 131, 132, 133, 135, 136, 137, 138, 139, 150, 151, 152, 155, 156, 158, 159,
+            176, 177, 180, 181, 185, 186, 187, 188, 189, 199
+    };
+
+    private static final String[] ENGLISH_NAMES = {"Tom", "Amy", "Lisa", "David", "Kevin", "Anna", "Jack", "Emma"};
+
+    private static final String[] CLOTHES_TYPES = {
+            "衬衫", "西装", "大衣", "羽绒服", "裤子", "连衣裙", "毛衣", "被子", "窗帘", "皮鞋", "领带", "围巾"
+    };
+    private static final long[] CLOTHES_PRICES = {1500, 4500, 5000, 6000, 1500, 3000, 2500, 5500, 8000, 3500, 1000, 1500};
+
+    /**
+     * 各季节（冬、春、夏、秋）的衣物种类权重，与 CLOTHES_TYPES 一一对应
+     */
+    private static final int[][] SEASONAL_CLOTHES_WEIGHTS = {
+            {10, 15, 25, 25, 10, 2, 15, 5, 3, 5, 3, 8},
+            {12, 12, 20, 30, 10, 5, 12, 15, 5, 4, 3, 6},
+            {35, 10, 2, 2, 20, 20, 2, 5, 5, 5, 3, 1},
+            {20, 18, 12, 8, 14, 8, 18, 8, 10, 6, 3, 4}
+    };
+
+    private static final String[] DAMAGE_REMARKS = {"袖口磨损", "领口发黄", "纽扣缺失", "轻微污渍", "开线", "起球"};
+
+    /**
+     * 1 ~ 12 月的订单量系数
+     */
+    private static final double[] MONTH_FACTORS = {1.15, 0.7, 1.25, 1.3, 1.05, 0.85, 0.8, 0.8, 0.95, 1.1, 1.3, 1.25};
+
+    private static final double YEARLY_GROWTH = 0.15;
+
+    /**
+     * 充值档位（分）及权重，赠送金额按应用的阶梯规则计算（MoneyUtil.rechargeGiftCents）
+     */
+    private static final long[] RECHARGE_AMOUNTS = {10000, 20000, 50000, 100000, 200000};
+    private static final int[] RECHARGE_WEIGHTS = {25, 30, 27, 15, 3};
+
+    private static final DateTimeFormatter ORDER_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final long seed;
+    private final int customers;
+    private final int orders;
+    private final long clothes;
+    private final int recharges;
+    private final int years;
+
+    private SplittableRandom random;
+
+    /**
+     * 每个客户的储值余额（分），下标为客户 id
+     */
+    private long[] balances;
+
+    private long generatedClothes;
+
+    public DataGenerator(long seed, int customers, int orders, long clothes, int recharges, int years) {
+        if (customers < 1 || orders < 0 || recharges < 0 || years < 1) {
+            throw new IllegalArgumentException("客户数、年数至少为 1，订单数、充值记录数不能为负数");
+        }
+        if (clothes < orders || clothes > (long) orders * MAX_CLOTHES_PER_ORDER) {
+            throw new IllegalArgumentException("衣物数必须在订单数的 1 ~ " + MAX_CLOTHES_PER_ORDER + " 倍之间");
+        }
+        this.seed = seed;
+        this.customers = customers;
+        this.orders = orders;
+        this.clothes = clothes;
+        this.recharges = recharges;
+        this.years = years;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("参数格式应为 --name=value：" + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        String db = options.get("db");
+        if (db == null) {
+            throw new IllegalArgumentException("缺少 --db=数据库文件路径");
+        }
+        File file = new File(db);
+        if (file.exists()) {
+            throw new IllegalArgumentException("数据库文件已存在：" + file.getAbsolutePath());
+        }
+        int orders = Integer.parseInt(options.getOrDefault("orders", "100000"));
+        DataGenerator generator = new DataGenerator(
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Integer.parseInt(options.getOrDefault("customers", String.valueOf(Math.max(1, orders / 20)))),
+                orders,
+                Long.parseLong(options.getOrDefault("clothes", String.valueOf(orders * 4L))),
+                Integer.parseInt(options.getOrDefault("recharges", String.valueOf(orders / 8))),
+                Integer.parseInt(options.getOrDefault("years", "3")));
+        generator.generate(file);
+    }
+
+    /**
+     * 在 db 中建表并写入数据（db 应为不存在的文件或空库）
+     */
+    public void generate(File db) throws IOException, SQLException {
+        long start = System.nanoTime();
+        random = new SplittableRandom(seed);
+        balances = new long[customers + 1];
+        generatedClothes = 0;
+
+        List<String> tables = new ArrayList<>();
+        List<String> indexes = new ArrayList<>();
+        for (String sql : schemaStatements()) {
+            (sql.toUpperCase().startsWith("CREATE INDEX") ? indexes : tables).add(sql);
+        }
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + db.getAbsolutePath())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=OFF");
+                statement.execute("PRAGMA synchronous=OFF");
+                statement.execute("PRAGMA cache_size=-262144");
+                statement.execute("PRAGMA temp_store=MEMORY");
+                for (String sql : tables) {
+                    statement.execute(sql);
+                }
+            }
+            connection.setAutoCommit(false);
+
+            LocalDate end = LocalDate.now();
+            LocalDate begin = end.minusYears(years).plusDays(1);
+            insertCustomers(connection, begin, end);
+            insertHistory(connection, begin, end);
+            updateBalances(connection);
+
+            // 索引在数据写完后一次性建立，比逐行维护快得多
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : indexes) {
+                    statement.execute(sql);
+                }
+            }
+            connection.commit();
+        }
+        System.out.printf("Generated %d customers, %d orders, %d clothes, %d recharge records in %d s: %s%n",
+                customers, orders, generatedClothes, recharges,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), db.getAbsolutePath());
+    }
+
+    /**
+     * 老客户在第一天之前就已存在，其余客户在时间段内均匀新增；余额先写 0，模拟结束后再更新
+     */
+    private void insertCustomers(Connection connection, LocalDate begin, LocalDate end) throws SQLException {
+        int existing = existingCustomers();
+        long spanSeconds = ChronoUnit.DAYS.between(begin, end.plusDays(1)) * TimeUnit.DAYS.toSeconds(1);
+        Set<Long> phones = new HashSet<>();
+
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO customer " +
+                "(name, name_pinyin_initials, name_pinyin_full, phone, wechat, balance_cents, create_time, create_ts) " +
+                "VALUES (?, ?, ?, ?, ?, 0, ?, ?)")) {
+            for (int i = 0; i < customers; i++) {
+                String name = randomName();
+                String full = PinyinUtil.toFullPinyin(name);
+                long phone;
+                do {
+                    phone = randomPhone();
+                } while (!phones.add(phone));
+                LocalDateTime createTime = i < existing
+                        ? begin.atStartOfDay().minusSeconds(existing - i)
+                        : begin.atStartOfDay().plusSeconds(spanSeconds * (i - existing) / (customers - existing));
+
+                insert.setString(1, name);
+                insert.setString(2, PinyinUtil.toPinyinInitials(name));
+                insert.setString(3, full);
+                insert.setString(4, String.valueOf(phone));
+                insert.setString(5, random.nextInt(10) < 3 ? "wx_" + full + random.nextInt(100, 10000) : null);
+                insert.setString(6, createTime.toString());
+                insert.setLong(7, TimeUtil.toEpochMilli(createTime));
+                addBatch(insert, i);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    /**
+     * 按天生成订单（含衣物）和充值记录，同一天内按时间先后交替写入，储值支付依赖当时的余额
+     */
+    private void insertHistory(Connection connection, LocalDate begin, LocalDate end) throws SQLException {
+        int days = (int) ChronoUnit.DAYS.between(begin, end) + 1;
+        double[] weights = new double[days];
+        for (int d = 0; d < days; d++) {
+            weights[d] = dayWeight(begin.plusDays(d), (double) d / days);
+        }
+        int[] ordersPerDay = apportion(orders, weights);
+        int[] rechargesPerDay = apportion(recharges, weights);
+
+        try (PreparedStatement insertOrder = connection.prepareStatement("INSERT INTO orders " +
+                "(order_no, customer_id, total_price_cents, prepaid_cents, pay_type, urgent, status, " +
+                "create_time, create_ts) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement insertClothes = connection.prepareStatement("INSERT INTO clothes " +
+                     "(order_id, type, price_cents, damage_remark, status, create_time, create_ts) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement insertRecharge = connection.prepareStatement("INSERT INTO recharge_record " +
+                     "(customer_id, recharge_amount_cents, gift_amount_cents, create_time, create_ts) " +
+                     "VALUES (?, ?, ?, ?, ?)")) {
+            int orderCount = 0;
+            int rechargeCount = 0;
+            for (int d = 0; d < days; d++) {
+                LocalDate date = begin.plusDays(d);
+                long[] orderTimes = businessTimes(ordersPerDay[d]);
+                long[] rechargeTimes = businessTimes(rechargesPerDay[d]);
+                int o = 0;
+                int r = 0;
+                while (o < orderTimes.length || r < rechargeTimes.length) {
+                    boolean nextIsOrder = r >= rechargeTimes.length
+                            || (o < orderTimes.length && orderTimes[o] <= rechargeTimes[r]);
+                    if (nextIsOrder) {
+                        LocalDateTime createTime = date.atStartOfDay().plus(orderTimes[o], ChronoUnit.MILLIS);
+                        writeOrder(insertOrder, insertClothes, createTime, o + 1, end, days, d, orderCount);
+                        addBatch(insertOrder, orderCount++);
+                        o++;
+                    } else {
+                        LocalDateTime createTime = date.atStartOfDay().plus(rechargeTimes[r], ChronoUnit.MILLIS);
+                        writeRecharge(insertRecharge, createTime, (double) d / days);
+                        addBatch(insertRecharge, rechargeCount++);
+                        r++;
+                    }
+                }
+            }
+            insertOrder.executeBatch();
+            insertClothes.executeBatch();
+            insertRecharge.executeBatch();
+        }
+    }
+
+    private void writeOrder(PreparedStatement insertOrder, PreparedStatement insertClothes, LocalDateTime createTime,
+                            int sequenceOfDay, LocalDate end, int days, int day, int orderIndex) throws SQLException {
+        LocalDate date = createTime.toLocalDate();
+        String orderNo = "ORD-" + date.format(ORDER_DATE) + "-" + String.format("%03d", sequenceOfDay);
+        long createTs = TimeUtil.toEpochMilli(createTime);
+        String createTimeText = createTime.toString();
+        String status = status(ChronoUnit.DAYS.between(date, end));
+        long customerId = pickCustomer((double) day / days);
+
+        int[] clothesWeights = SEASONAL_CLOTHES_WEIGHTS[(date.getMonthValue() % 12) / 3];
+        int items = clothesCount(orders - orderIndex);
+        long total = 0;
+        for (int i = 0; i < items; i++) {
+            int type = pick(clothesWeights);
+            // 同类衣物按材质、尺寸有不同价格
+            long price = CLOTHES_PRICES[type] * (8 + random.nextInt(8)) / 10;
+            total += price;
+            insertClothes.setString(1, orderNo);
+            insertClothes.setString(2, CLOTHES_TYPES[type]);
+            insertClothes.setLong(3, price);
+            insertClothes.setString(4, random.nextInt(100) < 3 ? DAMAGE_REMARKS[random.nextInt(DAMAGE_REMARKS.length)] : null);
+            insertClothes.setString(5, status);
+            insertClothes.setString(6, createTimeText);
+            insertClothes.setLong(7, createTs);
+            addBatch(insertClothes, generatedClothes++);
+        }
+
+        String payType;
+        if (isMember(customerId) && balances[(int) customerId] >= total && random.nextInt(10) < 9) {
+            payType = "PREPAID";
+            balances[(int) customerId] -= total;
+        } else if (!ClothesStatus.FINISHED.name().equals(status) && random.nextInt(10) < 3) {
+            // 还没取走的订单，取衣时再付款
+            payType = "UNPAID";
+        } else {
+            payType = "CASH";
+        }
+
+        insertOrder.setString(1, orderNo);
+        insertOrder.setLong(2, customerId);
+        insertOrder.setLong(3, total);
+        insertOrder.setLong(4, "PREPAID".equals(payType) ? total : 0);
+        insertOrder.setString(5, payType);
+        insertOrder.setInt(6, random.nextInt(100) < URGENT_PERCENT ? 1 : 0);
+        insertOrder.setString(7, status);
+        insertOrder.setString(8, createTimeText);
+        insertOrder.setLong(9, createTs);
+    }
+
+    private void writeRecharge(PreparedStatement insert, LocalDateTime createTime, double progress) throws SQLException {
+        long customerId = pickCustomer(progress);
+        // 充值的一定是会员，抽到非会员时重抽（会员约占三分之一，很快就能抽到）
+        for (int tries = 0; tries < 50 && !isMember(customerId); tries++) {
+            customerId = pickCustomer(progress);
+        }
+        int level = pick(RECHARGE_WEIGHTS);
+        long amount = RECHARGE_AMOUNTS[level];
+        long gift = MoneyUtil.rechargeGiftCents(amount);
+        balances[(int) customerId] += amount + gift;
+
+        insert.setLong(1, customerId);
+        insert.setLong(2, amount);
+        insert.setLong(3, gift);
+        insert.setString(4, createTime.toString());
+        insert.setLong(5, TimeUtil.toEpochMilli(createTime));
+    }
+
+    private void updateBalances(Connection connection) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE customer SET balance_cents = ? WHERE id = ?")) {
+            int count = 0;
+            for (int id = 1; id <= customers; id++) {
+                if (balances[id] != 0) {
+                    update.setLong(1, balances[id]);
+                    update.setLong(2, id);
+                    addBatch(update, count++);
+                }
+            }
+            update.executeBatch();
+        }
+    }
+
+    /**
+     * 某一天的订单量权重：月份季节性 × 周末高峰 × 逐年增长
+     */
+    private double dayWeight(LocalDate date, double progress) {
+        double weight = MONTH_FACTORS[date.getMonthValue() - 1];
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+            weight *= 1.45;
+        } else if (dayOfWeek == DayOfWeek.MONDAY) {
+            weight *= 0.85;
+        }
+        return weight * (1 + YEARLY_GROWTH * years * progress);
+    }
+
+    /**
+     * 一天内 count 个营业时间内的时刻（距零点的毫秒数，升序）
+     */
+    private long[] businessTimes(int count) {
+        long[] times = new long[count];
+        long open = TimeUnit.HOURS.toMillis(OPEN_HOUR);
+        long span = TimeUnit.HOURS.toMillis(BUSINESS_HOURS);
+        for (int i = 0; i < count; i++) {
+            times[i] = open + (long) ((i + random.nextDouble()) * span / count);
+        }
+        return times;
+    }
+
+    /**
+     * 在 progress（当天零点在整个时间段中的位置）之前已建档的客户中挑选，老客户（id 小）下单更频繁
+     */
+    private long pickCustomer(double progress) {
+        int existing = existingCustomers();
+        int available = Math.max(1, existing + (int) ((customers - existing) * progress));
+        return 1 + (long) (available * Math.pow(random.nextDouble(), 1.5));
+    }
+
+    private int existingCustomers() {
+        return Math.max(1, (int) (customers * EXISTING_CUSTOMER_RATIO));
+    }
+
+    private static boolean isMember(long customerId) {
+        return ((customerId * 2654435761L) >>> 8) % 100 < MEMBER_PERCENT;
+    }
+
+    /**
+     * 下一个订单的衣物件数：以剩余衣物的平均件数为均值的几何分布，截断到 1 ~ 30，
+     * 并保证剩下的订单每单 1 ~ 30 件时恰好能分完，使总数精确等于目标衣物数
+     */
+    private int clothesCount(int remainingOrders) {
+        long remaining = clothes - generatedClothes;
+        double mean = (double) remaining / remainingOrders;
+        int count = 1;
+        if (mean > 1) {
+            double p = 1 / mean;
+            count = 1 + (int) (Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+        }
+        long min = Math.max(1, remaining - (long) MAX_CLOTHES_PER_ORDER * (remainingOrders - 1));
+        long max = Math.min(MAX_CLOTHES_PER_ORDER, remaining - (remainingOrders - 1));
+        return (int) Math.max(min, Math.min(max, count));
+    }
+
+    /**
+     * 订单状态：最近 2 天的大多未洗，10 天内的部分已洗未取，更早的基本已取（少量忘记取走）
+     */
+    private String status(long ageDays) {
+        int roll = random.nextInt(1000);
+        if (ageDays <= 2) {
+            return (roll < 700 ? ClothesStatus.UNWASHED : ClothesStatus.WASHED).name();
+        }
+        if (ageDays <= 10) {
+            return (roll < 400 ? ClothesStatus.WASHED : ClothesStatus.FINISHED).name();
+        }
+        return (roll < 5 ? ClothesStatus.WASHED : ClothesStatus.FINISHED).name();
+    }
+
+    private String randomName() {
+        if (random.nextInt(100) == 0) {
+            return ENGLISH_NAMES[random.nextInt(ENGLISH_NAMES.length)];
+        }
+        StringBuilder name = new StringBuilder(3);
+        name.append(SURNAMES.charAt(pick(SURNAME_WEIGHTS)));
+        int givenLength = random.nextInt(10) < 3 ? 1 : 2;
+        for (int i = 0; i < givenLength; i++) {
+            name.append(GIVEN.charAt(random.nextInt(GIVEN.length())));
+        }
+        return name.toString();
+    }
+
+    private long randomPhone() {
+        return PHONE_PREFIXES[random.nextInt(PHONE_PREFIXES.length)] * 100_000_000L + random.nextInt(100_000_000);
+    }
+
+    private int pick(int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    /**
+     * 按权重把 total 分配到各天（最大余数法，合计恰好为 total）
+     */
+    private static int[] apportion(int total, double[] weights) {
+        double sum = 0;
+        for (double weight : weights) {
+            sum += weight;
+        }
+        int[] counts = new int[weights.length];
+        double[] remainders = new double[weights.length];
+        int assigned = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double exact = total * weights[i] / sum;
+            counts[i] = (int) exact;
+            remainders[i] = exact - counts[i];
+            assigned += counts[i];
+        }
+        Integer[] order = new Integer[weights.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(remainders[b], remainders[a]));
+        for (int i = 0; assigned < total; i++, assigned++) {
+            counts[order[i]]++;
+        }
+        return counts;
+    }
+
+    private static void addBatch(PreparedStatement statement, long index) throws SQLException {
+        statement.addBatch();
+        if ((index + 1) % BATCH_SIZE == 0) {
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * init.sql 中的语句（与 DatabaseInitializer 一样按行末分号切分，跳过注释）
+     */
+    private static List<String> schemaStatements() throws IOException {
+        String script;
+        try (InputStream in = new ClassPathResource("db/init.sql").getInputStream()) {
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        StringBuilder sql = new StringBuilder();
+        for (String line : script.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            sql.append(line).append('\n');
+        }
+        List<String> statements = new ArrayList<>();
+        for (String statement : sql.toString().split(";\\s*\n")) {
+            if (!statement.trim().isEmpty()) {
+                statements.add(statement.trim());
+            }
+        }
+        return statements;
+    }
+}
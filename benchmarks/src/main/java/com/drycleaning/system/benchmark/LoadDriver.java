@@ -0,0 +1,482 @@
+package com.drycleaning.system.benchmark;
+
+import com.drycleaning.system.util.PinyinUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP 压测：按页面上的操作流程向本地启动的应用发请求，统计每个接口的吞吐量和延迟分位数
+ * <p>
+ * 模拟的操作流程（每种流程按各自的到达率以泊松过程发起，互不等待）：
+ * 开单（new-order.html）：按手机号联想客户，再提交订单和衣物；
+ * 首页（dashboard.html）：定时刷新今日统计和最近充值记录；
+ * 统计页（statistics.html）：日报、未完成订单数、当天订单明细和客户排行；
+ * 客户联想：边输入边按拼音搜索客户，每次按键一个请求；
+ * 充值（PrepaidController）：按手机号查客户后充值。
+ * <p>
+ * 请求延迟从实际发出时计时；流程延迟从计划的到达时间计时，包含压测线程不够用时的排队时间，
+ * 不会因为应用变慢、发起的请求变少而低估延迟（coordinated omission）。
+ * <p>
+ * 先启动应用（建议使用 DataGenerator 生成的数据库），再运行：
+ * mvn -f benchmarks/pom.xml -Pload-test verify -Dload.duration-seconds=120 -Dload.order-rate=5
+ * 参数（-D 系统属性）：
+ * load.base-url 应用地址（默认 http://localhost:8080）；
+ * load.warmup-seconds / load.duration-seconds 预热和统计时长（默认 10 / 60 秒）；
+ * load.order-rate / load.dashboard-rate / load.statistics-rate / load.typeahead-rate / load.recharge-rate
+ * 各流程每秒到达次数（默认 2 / 4 / 0.5 / 5 / 1，为 0 时不运行）；
+ * load.concurrency 最多同时进行的流程数（默认 64）；
+ * load.customers 参与压测的客户数，不足时自动创建（默认 200）；
+ * load.seed 创建客户时使用的随机种子（默认 42）
+ */
+public class LoadDriver {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private static final long REPORT_INTERVAL_SECONDS = 10;
+
+    private static final String[] CLOTHES_TYPES = {"衬衫", "西装", "大衣", "羽绒服", "裤子", "连衣裙", "毛衣"};
+    private static final double[] CLOTHES_PRICES = {15, 45, 50, 60, 15, 30, 25};
+
+    private static final double[] RECHARGE_AMOUNTS = {100, 200, 500, 1000};
+
+    private static final String SURNAMES = "王李张刘陈杨黄赵吴周";
+    private static final String GIVEN = "伟薇静晶丽莉明鸣华玲琳芳杰洁军君婷强磊勇";
+
+    private final String baseUrl;
+    private final int concurrency;
+    private final int customerCount;
+
+    private final HttpClient client;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<Workflow> workflows = new ArrayList<>();
+
+    /**
+     * 压测使用的客户（id、手机号、姓名全拼）
+     */
+    private final List<TestCustomer> customers = new ArrayList<>();
+
+    /**
+     * 按 "方法 路径" 统计的请求延迟，以及按流程统计的延迟
+     */
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private final AtomicLong orderSequence = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    public LoadDriver() {
+        baseUrl = System.getProperty("load.base-url", "http://localhost:8080");
+        concurrency = Integer.getInteger("load.concurrency", 64);
+        customerCount = Integer.getInteger("load.customers", 200);
+        client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool(daemon("http-client")))
+                .build();
+
+        workflows.add(new Workflow("new-order", rate("load.order-rate", 2), this::newOrder));
+        workflows.add(new Workflow("dashboard", rate("load.dashboard-rate", 4), this::dashboard));
+        workflows.add(new Workflow("statistics", rate("load.statistics-rate", 0.5), this::statistics));
+        workflows.add(new Workflow("typeahead", rate("load.typeahead-rate", 5), this::typeahead));
+        workflows.add(new Workflow("recharge", rate("load.recharge-rate", 1), this::recharge));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadDriver().run(Integer.getInteger("load.warmup-seconds", 10),
+                Integer.getInteger("load.duration-seconds", 60),
+                Long.getLong("load.seed", 42));
+    }
+
+    public void run(int warmupSeconds, int durationSeconds, long seed) throws Exception {
+        prepareCustomers(new SplittableRandom(seed));
+        System.out.printf("Load test against %s with %d customers, warmup %d s, measuring %d s%n",
+                baseUrl, customers.size(), warmupSeconds, durationSeconds);
+        for (Workflow workflow : workflows) {
+            System.out.printf("  %-12s %6.2f /s%n", workflow.name, workflow.ratePerSecond);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency, daemon("load"));
+        List<Thread> schedulers = new ArrayList<>();
+        for (Workflow workflow : workflows) {
+            if (workflow.ratePerSecond > 0) {
+                Thread scheduler = daemon("arrivals-" + workflow.name).newThread(() -> schedule(workflow, pool));
+                scheduler.start();
+                schedulers.add(scheduler);
+            }
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        // 丢弃预热期间的数据
+        for (Endpoint endpoint : endpoints.values()) {
+            endpoint.takeInterval();
+            endpoint.takeErrors();
+        }
+
+        Map<String, Histogram> totals = new TreeMap<>();
+        Map<String, long[]> errors = new TreeMap<>();
+        long measureStart = System.nanoTime();
+        long measureEnd = measureStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+        while (System.nanoTime() < measureEnd) {
+            long sleep = Math.min(TimeUnit.SECONDS.toNanos(REPORT_INTERVAL_SECONDS), measureEnd - System.nanoTime());
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, sleep));
+            System.out.printf("%n[%3d s]%n", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - measureStart));
+            for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+                Histogram interval = entry.getValue().takeInterval();
+                long[] intervalErrors = entry.getValue().takeErrors();
+                totals.computeIfAbsent(entry.getKey(), key -> newHistogram()).add(interval);
+                long[] total = errors.computeIfAbsent(entry.getKey(), key -> new long[2]);
+                total[0] += intervalErrors[0];
+                total[1] += intervalErrors[1];
+                System.out.printf("  %-50s %8d req  p99 %9.2f ms%n", entry.getKey(), interval.getTotalCount(),
+                        millis(interval.getValueAtPercentile(99)));
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+        running = false;
+        for (Thread scheduler : schedulers) {
+            scheduler.join();
+        }
+        pool.shutdown();
+        pool.awaitTermination(30, TimeUnit.SECONDS);
+
+        report(totals, errors, elapsedSeconds);
+    }
+
+    /**
+     * 以泊松过程按到达率提交流程；线程池满时在队列中等待，等待时间计入流程延迟
+     */
+    private void schedule(Workflow workflow, ExecutorService pool) {
+        double meanIntervalNanos = 1e9 / workflow.ratePerSecond;
+        long next = System.nanoTime();
+        while (running) {
+            next += (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos);
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!running) {
+                break;
+            }
+            long intendedStart = next;
+            pool.execute(() -> {
+                try {
+                    workflow.steps.run();
+                } catch (Exception e) {
+                    endpoint("workflow " + workflow.name).failed(false);
+                }
+                endpoint("workflow " + workflow.name).record(System.nanoTime() - intendedStart);
+            });
+        }
+    }
+
+    // ---------- 操作流程 ----------
+
+    /**
+     * 开单：按手机号后 4 位联想客户，提交订单和 1 ~ 5 件衣物（与 new-order.html 的请求一致）
+     */
+    private void newOrder() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TestCustomer customer = randomCustomer();
+        get("/api/customers/search/fuzzy", "?phone=" + customer.phone.substring(customer.phone.length() - 4));
+
+        ObjectNode body = objectMapper.createObjectNode();
+        ArrayNode clothes = body.putArray("clothes");
+        double total = 0;
+        int items = 1 + random.nextInt(5);
+        for (int i = 0; i < items; i++) {
+            int type = random.nextInt(CLOTHES_TYPES.length);
+            total += CLOTHES_PRICES[type];
+            clothes.addObject()
+                    .put("type", CLOTHES_TYPES[type])
+                    .put("price", CLOTHES_PRICES[type])
+                    .put("damageRemark", "")
+                    .put("status", "UNWASHED");
+        }
+        body.putObject("order")
+                .put("customerId", customer.id)
+                .put("orderNo", "ORD-LOAD-" + System.currentTimeMillis() + "-" + orderSequence.incrementAndGet())
+                .put("totalPrice", total)
+                .put("prepaid", 0)
+                .put("payType", random.nextInt(10) < 3 ? "PREPAID" : "CASH")
+                .put("urgent", random.nextInt(10) == 0 ? 1 : 0)
+                .put("status", "UNWASHED");
+        post("/api/orders/full", "", objectMapper.writeValueAsString(body));
+    }
+
+    /**
+     * 首页定时刷新
+     */
+    private void dashboard() throws Exception {
+        get("/api/statistics/dashboard", "?date=" + LocalDate.now());
+        get("/api/prepaid/recharge-records", "?limit=10");
+    }
+
+    /**
+     * 打开统计页（日报）
+     */
+    private void statistics() throws Exception {
+        String today = LocalDate.now().toString();
+        get("/api/statistics/daily", "?date=" + today);
+        get("/api/statistics/unfinished-orders-count", "");
+        get("/api/orders/created", "?from=" + today);
+        get("/api/statistics/top-customers", "?from=" + today + "&to=" + today + "&by=spend&k=10");
+    }
+
+    /**
+     * 客户联想：逐个输入姓名全拼的前 1 ~ 4 个字母，每次按键发一次搜索
+     */
+    private void typeahead() throws Exception {
+        TestCustomer customer = randomCustomer();
+        int keystrokes = Math.min(customer.pinyin.length(), 1 + ThreadLocalRandom.current().nextInt(4));
+        for (int i = 1; i <= keystrokes; i++) {
+            get("/api/customers/search/fuzzy", "?name=" + encode(customer.pinyin.substring(0, i)));
+        }
+    }
+
+    /**
+     * 首页充值：按手机号查到客户后充值
+     */
+    private void recharge() throws Exception {
+        TestCustomer customer = randomCustomer();
+        getResource("/api/customers/search/phone/{phone}", "/api/customers/search/phone/" + customer.phone);
+        double amount = RECHARGE_AMOUNTS[ThreadLocalRandom.current().nextInt(RECHARGE_AMOUNTS.length)];
+        post("/api/prepaid/recharge", "?customerId=" + customer.id + "&amount=" + amount, null);
+    }
+
+    // ---------- 准备数据 ----------
+
+    /**
+     * 读取已有客户，不足 load.customers 个时创建新客户
+     */
+    private void prepareCustomers(SplittableRandom random) throws IOException, InterruptedException {
+        String path = "/api/customers?limit=" + Math.min(customerCount, 500);
+        while (customers.size() < customerCount) {
+            JsonNode page = objectMapper.readTree(send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET()).body());
+            for (JsonNode item : page.path("items")) {
+                if (customers.size() < customerCount && item.hasNonNull("phone") && !item.path("phone").asText().isEmpty()) {
+                    customers.add(new TestCustomer(item.path("id").asLong(), item.path("phone").asText(),
+                            PinyinUtil.toFullPinyin(item.path("name").asText())));
+                }
+            }
+            if (page.path("nextCursor").isNull() || page.path("nextCursor").isMissingNode()) {
+                break;
+            }
+            path = "/api/customers?limit=500&cursor=" + page.path("nextCursor").asLong();
+        }
+
+        int created = 0;
+        int failed = 0;
+        while (customers.size() < customerCount) {
+            String name = String.valueOf(SURNAMES.charAt(random.nextInt(SURNAMES.length())))
+                    + GIVEN.charAt(random.nextInt(GIVEN.length())) + GIVEN.charAt(random.nextInt(GIVEN.length()));
+            String phone = String.format("139%08d", random.nextInt(100_000_000));
+            ObjectNode body = objectMapper.createObjectNode().put("name", name).put("phone", phone);
+            HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/customers"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body))));
+            if (response.statusCode() / 100 == 2) {
+                customers.add(new TestCustomer(objectMapper.readTree(response.body()).path("id").asLong(), phone,
+                        PinyinUtil.toFullPinyin(name)));
+                created++;
+            } else if (++failed > customerCount) {
+                throw new IllegalStateException("创建压测客户失败：" + response.statusCode() + " " + response.body());
+            }
+        }
+        if (created > 0) {
+            System.out.printf("Created %d customers for the load test%n", created);
+        }
+    }
+
+    // ---------- HTTP ----------
+
+    private void get(String path, String query) throws IOException, InterruptedException {
+        getResource(path, path + query);
+    }
+
+    /**
+     * 带路径变量的请求按路径模板统计
+     */
+    private void getResource(String template, String path) throws IOException, InterruptedException {
+        timed("GET " + template, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+    }
+
+    private void post(String path, String query, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path + query));
+        if (json != null) {
+            request.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(json));
+        } else {
+            request.POST(HttpRequest.BodyPublishers.noBody());
+        }
+        timed("POST " + path, request);
+    }
+
+    private void timed(String name, HttpRequest.Builder request) throws IOException, InterruptedException {
+        Endpoint endpoint = endpoint(name);
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = send(request);
+        } catch (IOException e) {
+            endpoint.failed(false);
+            throw e;
+        }
+        endpoint.record(System.nanoTime() - start);
+        int status = response.statusCode();
+        if (status >= 500) {
+            endpoint.failed(false);
+        } else if (status >= 400) {
+            // 4xx 多为业务拒绝（如储值余额不足），单独计数
+            endpoint.failed(true);
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.timeout(Duration.ofSeconds(60)).build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    // ---------- 统计 ----------
+
+    private Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, key -> new Endpoint());
+    }
+
+    private void report(Map<String, Histogram> totals, Map<String, long[]> errors, double elapsedSeconds) {
+        System.out.printf("%n%-50s %9s %8s %8s %9s %9s %9s %9s %9s%n", "Endpoint", "Requests", "4xx", "Errors",
+                "Req/s", "p50 ms", "p99 ms", "p999 ms", "Max ms");
+        for (Map.Entry<String, Histogram> entry : totals.entrySet()) {
+            Histogram histogram = entry.getValue();
+            long[] error = errors.get(entry.getKey());
+            System.out.printf("%-50s %9d %8d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(),
+                    histogram.getTotalCount(), error[1], error[0], histogram.getTotalCount() / elapsedSeconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+        }
+        System.out.println("workflow * latencies are measured from the intended arrival time, including time queued for a load thread");
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static double rate(String property, double defaultRate) {
+        String value = System.getProperty(property);
+        return value != null ? Double.parseDouble(value) : defaultRate;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private TestCustomer randomCustomer() {
+        return customers.get(ThreadLocalRandom.current().nextInt(customers.size()));
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicLong counter = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 一个接口（或流程）的延迟记录和失败计数
+     */
+    private static class Endpoint {
+
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+
+        private final AtomicLong errors = new AtomicLong();
+
+        private final AtomicLong rejected = new AtomicLong();
+
+        void record(long nanos) {
+            recorder.recordValue(Math.min(nanos, HIGHEST_TRACKABLE_NANOS));
+        }
+
+        void failed(boolean clientError) {
+            (clientError ? rejected : errors).incrementAndGet();
+        }
+
+        Histogram takeInterval() {
+            return recorder.getIntervalHistogram();
+        }
+
+        /**
+         * @return {5xx 及网络错误数, 4xx 数}，并清零
+         */
+        long[] takeErrors() {
+            return new long[]{errors.getAndSet(0), rejected.getAndSet(0)};
+        }
+    }
+
+    private static class Workflow {
+
+        private final String name;
+
+        private final double ratePerSecond;
+
+        private final Steps steps;
+
+        Workflow(String name, double ratePerSecond, Steps steps) {
+            this.name = name;
+            this.ratePerSecond = ratePerSecond;
+            this.steps = steps;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Steps {
+        void run() throws Exception;
+    }
+
+    private static class TestCustomer {
+
+        private final long id;
+
+        private final String phone;
+
+        private final String pinyin;
+
+        TestCustomer(long id, String phone, String pinyin) {
+            this.id = id;
+            this.phone = phone;
+            this.pinyin = pinyin;
+        }
+    }
+}
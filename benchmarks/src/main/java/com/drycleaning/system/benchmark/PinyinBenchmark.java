@@ -0,0 +1,106 @@
+package com.drycleaning.system.benchmark;
+
+import com.drycleaning.system.util.PinyinUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PinyinUtil 查表实现与原 pinyin4j 逐字查询实现（LegacyPinyinUtil）的对比
+ * 运行：java -jar benchmarks/target/benchmarks.jar PinyinBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PinyinBenchmark {
+
+    private static final int NAME_COUNT = 1024;
+
+    private static final String SURNAMES = "王李张刘陈杨黄赵吴周徐孙马朱胡郭何高林罗曾单解查";
+    private static final String GIVEN = "伟芳娜秀英敏静丽强磊军洋勇艳杰娟涛明超兰霞平刚桂";
+
+    private String[] names;
+    private String[] keywords;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        names = new String[NAME_COUNT];
+        keywords = new String[NAME_COUNT];
+        for (int i = 0; i < NAME_COUNT; i++) {
+            StringBuilder name = new StringBuilder();
+            name.append(SURNAMES.charAt(random.nextInt(SURNAMES.length())));
+            int givenLength = 1 + random.nextInt(2);
+            for (int j = 0; j < givenLength; j++) {
+                name.append(GIVEN.charAt(random.nextInt(GIVEN.length())));
+            }
+            names[i] = i % 16 == 0 ? "Tom" + i : name.toString();
+            // 一半关键词为首字母、一半为全拼片段，约一半能匹配上
+            String pinyin = i % 2 == 0 ? PinyinUtil.toPinyinInitials(names[i]) : PinyinUtil.toFullPinyin(names[i]);
+            keywords[i] = random.nextBoolean() ? pinyin.substring(0, Math.min(3, pinyin.length())) : "zq";
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NAME_COUNT)
+    public void legacyInitials(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(LegacyPinyinUtil.toPinyinInitials(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NAME_COUNT)
+    public void tableInitials(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(PinyinUtil.toPinyinInitials(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NAME_COUNT)
+    public void legacyFullPinyin(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(LegacyPinyinUtil.toFullPinyin(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NAME_COUNT)
+    public void tableFullPinyin(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(PinyinUtil.toFullPinyin(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NAME_COUNT)
+    public void legacyMatches(Blackhole blackhole) {
+        for (int i = 0; i < NAME_COUNT; i++) {
+            blackhole.consume(LegacyPinyinUtil.matchesPinyin(names[i], keywords[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NAME_COUNT)
+    public void tableMatches(Blackhole blackhole) {
+        for (int i = 0; i < NAME_COUNT; i++) {
+            blackhole.consume(PinyinUtil.matchesPinyin(names[i], keywords[i]));
+        }
+    }
+}
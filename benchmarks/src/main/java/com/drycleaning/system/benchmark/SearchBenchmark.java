@@ -0,0 +1,121 @@
+package com.drycleaning.system.benchmark;
+
+import com.drycleaning.system.service.CustomerService;
+import com.drycleaning.system.service.OrderService;
+import com.drycleaning.system.util.PinyinUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 客户搜索（姓名 / 拼音 / 手机号）与订单模糊搜索在不同数据量下的耗时
+ * 关键词取自库中的真实客户，按顺序轮换；订单搜索使用页面上的分页查询（每页 20 条）
+ * 运行：java -jar benchmarks/target/benchmarks.jar SearchBenchmark
+ * 只跑一种数据量：java -jar benchmarks/target/benchmarks.jar SearchBenchmark -p orders=100000
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    private static final int KEYWORD_COUNT = 64;
+
+    private static final int LIMIT = 20;
+
+    @Param({"1000", "100000", "1000000"})
+    private int orders;
+
+    private BenchmarkDatabase database;
+
+    private CustomerService customerService;
+
+    private OrderService orderService;
+
+    private String[] names;
+    private String[] initials;
+    private String[] phones;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start(orders);
+        customerService = database.getBean(CustomerService.class);
+        orderService = database.getBean(OrderService.class);
+
+        List<Map<String, Object>> customers = database.getBean(JdbcTemplate.class).queryForList(
+                "SELECT name, phone FROM customer ORDER BY (id * 7919) % 1000003 LIMIT ?", KEYWORD_COUNT);
+        names = new String[customers.size()];
+        initials = new String[customers.size()];
+        phones = new String[customers.size()];
+        for (int i = 0; i < customers.size(); i++) {
+            String name = (String) customers.get(i).get("name");
+            names[i] = name.substring(0, Math.min(2, name.length()));
+            initials[i] = PinyinUtil.toPinyinInitials(name);
+            phones[i] = ((String) customers.get(i).get("phone")).substring(3, 7);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public Object customerByName() {
+        return customerService.fuzzySearchWithPinyin(names[nextIndex()], null, null, LIMIT);
+    }
+
+    @Benchmark
+    public Object customerByPinyinInitials() {
+        return customerService.fuzzySearchWithPinyin(initials[nextIndex()], null, null, LIMIT);
+    }
+
+    @Benchmark
+    public Object customerByPhone() {
+        return customerService.fuzzySearchWithPinyin(null, phones[nextIndex()], null, LIMIT);
+    }
+
+    @Benchmark
+    public Object orderByOrderNo() {
+        return orderService.fuzzySearch(String.valueOf(1 + nextIndex() * 13), null, null, null, 1, LIMIT);
+    }
+
+    @Benchmark
+    public Object orderByCustomerName() {
+        return orderService.fuzzySearch(null, names[nextIndex()], null, null, 1, LIMIT);
+    }
+
+    @Benchmark
+    public Object orderByPhone() {
+        return orderService.fuzzySearch(null, null, phones[nextIndex()], null, 1, LIMIT);
+    }
+
+    @Benchmark
+    public Object orderByClothesType() {
+        return orderService.fuzzySearch(null, null, null, "羽绒", 1, LIMIT);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % names.length;
+        return next;
+    }
+}
@@ -0,0 +1,129 @@
+package com.drycleaning.system.benchmark;
+
+import com.drycleaning.system.service.StatisticsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StatisticsService 各方法在不同数据量下的耗时（日期均取今天 / 本月，数据覆盖最近两年）
+ * 运行：java -jar benchmarks/target/benchmarks.jar StatisticsBenchmark
+ * 只跑一种数据量：java -jar benchmarks/target/benchmarks.jar StatisticsBenchmark -p orders=100000
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatisticsBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int orders;
+
+    private BenchmarkDatabase database;
+
+    private StatisticsService statisticsService;
+
+    private LocalDate today;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start(orders);
+        statisticsService = database.getBean(StatisticsService.class);
+        today = LocalDate.now();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public Object dailyIncome() {
+        return statisticsService.getDailyIncome(today);
+    }
+
+    @Benchmark
+    public Object monthlyIncome() {
+        return statisticsService.getMonthlyIncome(today.getYear(), today.getMonthValue());
+    }
+
+    @Benchmark
+    public Object cashIncome() {
+        return statisticsService.getCashIncome(today);
+    }
+
+    @Benchmark
+    public Object prepaidIncome() {
+        return statisticsService.getPrepaidIncome(today);
+    }
+
+    @Benchmark
+    public Object unfinishedOrderCount() {
+        return statisticsService.getUnfinishedOrderCount();
+    }
+
+    @Benchmark
+    public Object orderCountByStatus() {
+        return statisticsService.getOrderCountByStatus();
+    }
+
+    @Benchmark
+    public Object todayOrderCount() {
+        return statisticsService.getTodayOrderCount(today);
+    }
+
+    @Benchmark
+    public Object dailyStatistics() {
+        return statisticsService.getDailyStatistics(today);
+    }
+
+    @Benchmark
+    public Object dashboardStatistics() {
+        return statisticsService.getDashboardStatistics(today);
+    }
+
+    @Benchmark
+    public Object monthlyStatistics() {
+        return statisticsService.getMonthlyStatistics(today.getYear(), today.getMonthValue());
+    }
+
+    @Benchmark
+    public Object dailySeriesOf90Days() {
+        return statisticsService.getSeries(today.minusDays(89), today, "day");
+    }
+
+    @Benchmark
+    public Object monthlySeriesOf2Years() {
+        return statisticsService.getSeries(today.minusYears(2), today, "month");
+    }
+
+    @Benchmark
+    public Object topCustomersBySpendOf30Days() {
+        return statisticsService.getTopCustomers(today.minusDays(29), today, "spend", 10);
+    }
+
+    @Benchmark
+    public Object topCustomersBySpendAllTime() {
+        return statisticsService.getTopCustomers(null, null, "spend", 10);
+    }
+
+    @Benchmark
+    public Object topCustomersByRechargeAllTime() {
+        return statisticsService.getTopCustomers(null, null, "recharge", 10);
+    }
+}
@@ -2,8 +2,10 @@ package com.drycleaning.system;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class DryCleaningSystemApplication {
     public static void main(String[] args) {
         SpringApplication.run(DryCleaningSystemApplication.class, args);
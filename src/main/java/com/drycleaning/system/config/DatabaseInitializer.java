@@ -1,5 +1,10 @@
 package com.drycleaning.system.config;
 
+import com.drycleaning.system.service.BalanceLedgerService;
+import com.drycleaning.system.service.DailyStatsService;
+import com.drycleaning.system.service.impl.CustomerSearchIndex;
+import com.drycleaning.system.service.impl.OrderStatusCounter;
+import com.drycleaning.system.util.PinyinUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,20 +12,63 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 public class DatabaseInitializer implements CommandLineRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(DatabaseInitializer.class);
 
+    /**
+     * 带有 create_time / create_ts 的表
+     */
+    private static final String[] TIMESTAMPED_TABLES = {"customer", "orders", "clothes", "recharge_record"};
+
+    /**
+     * 由 REAL（元）迁移为 INTEGER（分）的金额列：表名、旧列名、新列（旧列名 + _cents）的定义
+     */
+    private static final String[][] MONEY_COLUMNS = {
+            {"customer", "balance", "INTEGER NOT NULL DEFAULT 0"},
+            {"orders", "total_price", "INTEGER NOT NULL DEFAULT 0"},
+            {"orders", "prepaid", "INTEGER DEFAULT 0"},
+            {"clothes", "price", "INTEGER NOT NULL DEFAULT 0"},
+            {"recharge_record", "recharge_amount", "INTEGER NOT NULL DEFAULT 0"},
+            {"recharge_record", "gift_amount", "INTEGER NOT NULL DEFAULT 0"},
+            {"daily_stats", "cash_income", "INTEGER NOT NULL DEFAULT 0"},
+            {"daily_stats", "prepaid_volume", "INTEGER NOT NULL DEFAULT 0"},
+            {"daily_stats", "recharge_amount", "INTEGER NOT NULL DEFAULT 0"},
+            {"daily_stats", "gift_amount", "INTEGER NOT NULL DEFAULT 0"},
+            {"balance_ledger", "delta", "INTEGER NOT NULL DEFAULT 0"},
+            {"balance_ledger", "balance_after", "INTEGER NOT NULL DEFAULT 0"},
+            {"balance_snapshot", "balance", "INTEGER NOT NULL DEFAULT 0"}
+    };
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private OrderStatusCounter orderStatusCounter;
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    /**
+     * 建表、数据迁移和回填都是写操作，在一个读写事务中执行（使用写连接，见 SqliteDataSourceConfig）
+     */
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
         logger.info("Initializing database tables...");
         
@@ -63,7 +111,106 @@ public class DatabaseInitializer implements CommandLineRunner {
                 }
             }
         }
+
+        migrateSchema();
+
+        // 首次升级到汇总表时，从历史订单和充值记录回填
+        dailyStatsService.rebuildIfEmpty();
+
+        // 首次启用余额流水时，以当前余额作为每个客户的期初流水
+        balanceLedgerService.createOpeningEntriesIfEmpty();
+
+        // 初始化按状态统计的订单计数器
+        orderStatusCounter.reload();
+
+        // 构建客户搜索索引
+        customerSearchIndex.rebuild();
         
         logger.info("Database initialization completed.");
     }
+
+    /**
+     * 对已有数据库做增量升级（init.sql 中的 CREATE TABLE IF NOT EXISTS 不会修改已存在的表）
+     */
+    private void migrateSchema() {
+        for (String table : TIMESTAMPED_TABLES) {
+            if (addColumnIfMissing(table, "create_ts", "INTEGER")) {
+                logger.info("Added column {}.create_ts", table);
+            }
+            // create_time 为 LocalDateTime.toString() 产生的本地时间文本：
+            // 整秒部分交给 strftime 按本地时区换算，毫秒部分直接截取，与 TimeUtil.toEpochMilli 结果一致
+            int updated = jdbcTemplate.update("UPDATE " + table + " SET create_ts = " +
+                    "CAST(strftime('%s', substr(create_time, 1, 19), 'utc') AS INTEGER) * 1000 + " +
+                    "CASE WHEN substr(create_time, 20, 1) = '.' " +
+                    "THEN CAST(substr(substr(create_time, 21) || '00', 1, 3) AS INTEGER) ELSE 0 END " +
+                    "WHERE create_ts IS NULL AND create_time IS NOT NULL");
+            if (updated > 0) {
+                logger.info("Backfilled {}.create_ts for {} rows", table, updated);
+            }
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_create_ts ON " + table + "(create_ts)");
+        }
+
+        addColumnIfMissing("customer", "name_pinyin_initials", "TEXT");
+        addColumnIfMissing("customer", "name_pinyin_full", "TEXT");
+        backfillCustomerPinyin();
+
+        for (String[] money : MONEY_COLUMNS) {
+            migrateMoneyColumn(money[0], money[1], money[2]);
+        }
+    }
+
+    /**
+     * 将 REAL 金额列（元）换算为 INTEGER 列（分）后删除旧列
+     */
+    private void migrateMoneyColumn(String table, String column, String centsDefinition) {
+        if (!tableColumns(table).contains(column)) {
+            return;
+        }
+        String centsColumn = column + "_cents";
+        addColumnIfMissing(table, centsColumn, centsDefinition);
+        int updated = jdbcTemplate.update("UPDATE " + table + " SET " + centsColumn + " = " +
+                "CAST(ROUND(" + column + " * 100) AS INTEGER) WHERE " + column + " IS NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN " + column);
+        logger.info("Migrated {}.{} to {} for {} rows", table, column, centsColumn, updated);
+    }
+
+    /**
+     * 为还没有拼音列的客户计算姓名拼音（拼音转换只能在 Java 中完成）
+     * 姓氏为多音字的客户也重新计算一次（拼音列中同时存储作姓时的读音和普通读音），与存储的值不一致时更新
+     */
+    private void backfillCustomerPinyin() {
+        List<Object[]> batchArgs = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, name, name_pinyin_initials, name_pinyin_full FROM customer " +
+                "WHERE name_pinyin_full IS NULL OR instr(?, substr(name, 1, 1)) > 0", rs -> {
+            String name = rs.getString("name");
+            String initials = PinyinUtil.toSearchPinyinInitials(name);
+            String full = PinyinUtil.toSearchFullPinyin(name);
+            if (!initials.equals(rs.getString("name_pinyin_initials"))
+                    || !full.equals(rs.getString("name_pinyin_full"))) {
+                batchArgs.add(new Object[]{initials, full, rs.getLong("id")});
+            }
+        }, PinyinUtil.polyphonicSurnames());
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "UPDATE customer SET name_pinyin_initials = ?, name_pinyin_full = ? WHERE id = ?", batchArgs);
+        logger.info("Backfilled customer name pinyin for {} rows", batchArgs.size());
+    }
+
+    /**
+     * 表中不存在该列时添加
+     * @return 是否新增了列
+     */
+    private boolean addColumnIfMissing(String table, String column, String type) {
+        if (tableColumns(table).contains(column)) {
+            return false;
+        }
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + type);
+        return true;
+    }
+
+    private List<String> tableColumns(String table) {
+        return jdbcTemplate.queryForList("SELECT name FROM pragma_table_info('" + table + "')", String.class);
+    }
 }
@@ -0,0 +1,131 @@
+package com.drycleaning.system.config;
+
+import com.drycleaning.system.service.impl.SlowQueryLog;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 记录每条 MyBatis 语句的耗时和行数：
+ * mybatis.statement 计时器（标签为语句、类型和异常类型），
+ * mybatis.statement.rows 分布（查询为返回行数，增删改为影响行数），按 1、10、100 …… 100000 分桶，
+ * selectList(null) 之类读取整张表的语句会直接出现在大行数的桶里
+ * 语句标签为 Mapper 类名.方法名；分页查询的耗时包含分页插件执行的 count 语句
+ * <p>
+ * 同时把每条成功执行的语句交给 SlowQueryLog，检测超过耗时或行数阈值的语句
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class MybatisMetricsInterceptor implements Interceptor {
+
+    private static final double[] ROW_BUCKETS = {1, 10, 100, 1_000, 10_000, 100_000};
+
+    private final MeterRegistry meterRegistry;
+
+    private final SlowQueryLog slowQueryLog;
+
+    /**
+     * 正常返回时使用的计时器和行数分布，按语句 id 缓存
+     */
+    private final Map<String, StatementMeters> meters = new ConcurrentHashMap<>();
+
+    public MybatisMetricsInterceptor(MeterRegistry meterRegistry, SlowQueryLog slowQueryLog) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement statement = (MappedStatement) args[0];
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            timer(statement, e.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        StatementMeters statementMeters = meters.computeIfAbsent(statement.getId(), key -> new StatementMeters(
+                statementName(statement),
+                timer(statement, "none"),
+                DistributionSummary.builder("mybatis.statement.rows")
+                        .description("SQL 语句返回或影响的行数")
+                        .baseUnit("rows")
+                        .tag("statement", statementName(statement))
+                        .tag("type", statement.getSqlCommandType().name())
+                        .serviceLevelObjectives(ROW_BUCKETS)
+                        .register(meterRegistry)));
+        long rows = rows(result);
+        statementMeters.timer.record(elapsed, TimeUnit.NANOSECONDS);
+        statementMeters.rows.record(rows);
+        BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : null;
+        slowQueryLog.record(statement, statementMeters.name, boundSql, args[1], elapsed, rows);
+        return result;
+    }
+
+    private Timer timer(MappedStatement statement, String exception) {
+        return Timer.builder("mybatis.statement")
+                .description("SQL 语句耗时")
+                .tag("statement", statementName(statement))
+                .tag("type", statement.getSqlCommandType().name())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 语句 id 去掉包名，如 com.drycleaning.system.mapper.OrderMapper.selectList -> OrderMapper.selectList
+     */
+    private static String statementName(MappedStatement statement) {
+        String id = statement.getId();
+        int method = id.lastIndexOf('.');
+        int type = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+        return id.substring(type + 1);
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Number) {
+            return ((Number) result).longValue();
+        }
+        return result == null ? 0 : 1;
+    }
+
+    private static class StatementMeters {
+
+        private final String name;
+
+        private final Timer timer;
+
+        private final DistributionSummary rows;
+
+        StatementMeters(String name, Timer timer, DistributionSummary rows) {
+            this.name = name;
+            this.timer = timer;
+            this.rows = rows;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.drycleaning.system.config;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.drycleaning.system.service.impl.SlowQueryLog;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -19,4 +21,12 @@ public class MybatisPlusConfig {
         interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.SQLITE));
         return interceptor;
     }
+
+    /**
+     * SQL 语句耗时和行数的监控指标，以及慢查询和大结果集检测（见 SlowQueryLog）
+     */
+    @Bean
+    public MybatisMetricsInterceptor mybatisMetricsInterceptor(MeterRegistry meterRegistry, SlowQueryLog slowQueryLog) {
+        return new MybatisMetricsInterceptor(meterRegistry, slowQueryLog);
+    }
 }
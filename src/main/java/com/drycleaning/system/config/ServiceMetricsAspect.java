@@ -0,0 +1,62 @@
+package com.drycleaning.system.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 记录各 *ServiceImpl 公有方法的调用次数和耗时（service.method 计时器，标签为类名、方法名和异常类型）
+ * 优先级最高、在 WritePipelineAspect 之外：写操作的耗时包含在写入队列中等待的时间，且本切面始终在调用线程上执行
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    private static final String METRIC_NAME = "service.method";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 正常返回时使用的计时器，按方法缓存
+     */
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.drycleaning.system.service.impl.*ServiceImpl.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            timer(method, e.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        timers.computeIfAbsent(method, key -> timer(key, "none"))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(METRIC_NAME)
+                .description("服务层方法耗时")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,150 @@
+package com.drycleaning.system.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQLite 数据源配置：一个写连接池和一个只读连接池
+ * <p>
+ * 写连接池只有一个连接，所有写事务在进程内排队执行，不会再因为多个连接同时写而出现 SQLITE_BUSY；
+ * 只读连接池以只读方式打开数据库，WAL 模式下读不阻塞写、写也不阻塞读。
+ * <p>
+ * 路由规则：处于读写事务中的语句使用写连接，其余（没有事务或只读事务）使用只读连接。
+ * 因此所有写操作都必须在 @Transactional 中执行，遗漏时只读连接会直接报错（attempt to write a readonly database），
+ * 而不是悄悄绕过单写者约束。
+ */
+@Configuration
+public class SqliteDataSourceConfig {
+
+    private static final String WRITE = "write";
+
+    private static final String READ = "read";
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${sqlite.journal-mode:WAL}")
+    private SQLiteConfig.JournalMode journalMode;
+
+    @Value("${sqlite.busy-timeout-ms:5000}")
+    private int busyTimeoutMs;
+
+    @Value("${sqlite.mmap-size:268435456}")
+    private long mmapSize;
+
+    @Value("${sqlite.cache-size-kib:16384}")
+    private int cacheSizeKib;
+
+    @Value("${sqlite.read-pool-size:4}")
+    private int readPoolSize;
+
+    /**
+     * 写连接池：唯一的写连接，同时负责把数据库切换为 WAL 模式（日志模式记录在数据库文件中）
+     */
+    @Bean
+    public HikariDataSource writeDataSource() {
+        SQLiteConfig sqliteConfig = pragmas();
+        sqliteConfig.setJournalMode(journalMode);
+        // WAL 模式下 NORMAL 只在检查点时 fsync，掉电最多丢失最近的事务、不会损坏数据库；其他日志模式仍使用 FULL
+        sqliteConfig.setSynchronous(journalMode == SQLiteConfig.JournalMode.WAL
+                ? SQLiteConfig.SynchronousMode.NORMAL : SQLiteConfig.SynchronousMode.FULL);
+
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName("sqlite-write");
+        hikariConfig.setDataSource(sqliteDataSource(sqliteConfig));
+        hikariConfig.setMaximumPoolSize(1);
+        hikariConfig.setMinimumIdle(1);
+        return new HikariDataSource(hikariConfig);
+    }
+
+    /**
+     * 只读连接池：在写连接池之后创建，保证数据库文件已存在并已切换为 WAL 模式
+     */
+    @Bean
+    @DependsOn("writeDataSource")
+    public HikariDataSource readDataSource() {
+        SQLiteConfig sqliteConfig = pragmas();
+        sqliteConfig.setReadOnly(true);
+
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName("sqlite-read");
+        hikariConfig.setDataSource(sqliteDataSource(sqliteConfig));
+        hikariConfig.setMaximumPoolSize(readPoolSize);
+        hikariConfig.setMinimumIdle(readPoolSize);
+        hikariConfig.setReadOnly(true);
+        return new HikariDataSource(hikariConfig);
+    }
+
+    /**
+     * 应用使用的数据源，按当前事务路由到写连接池或只读连接池
+     * 通过 LazyConnectionDataSourceProxy 延迟到执行第一条语句时才取连接，此时事务是否只读已经确定
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                                 @Qualifier("readDataSource") DataSource readDataSource) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(WRITE, writeDataSource);
+        targets.put(READ, readDataSource);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(readDataSource);
+        routing.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        proxy.setTargetDataSource(routing);
+        // 显式指定默认值，避免初始化时为探测默认值去取连接
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        proxy.afterPropertiesSet();
+        return proxy;
+    }
+
+    /**
+     * 读写连接共用的 PRAGMA，由驱动在每个连接打开时设置
+     */
+    private SQLiteConfig pragmas() {
+        SQLiteConfig sqliteConfig = new SQLiteConfig();
+        sqliteConfig.setBusyTimeout(busyTimeoutMs);
+        // 负数表示以 KiB 为单位
+        sqliteConfig.setCacheSize(-cacheSizeKib);
+        sqliteConfig.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(mmapSize));
+        sqliteConfig.setTempStore(SQLiteConfig.TempStore.MEMORY);
+        return sqliteConfig;
+    }
+
+    private SQLiteDataSource sqliteDataSource(SQLiteConfig sqliteConfig) {
+        SQLiteDataSource dataSource = new SQLiteDataSource(sqliteConfig);
+        dataSource.setUrl(url);
+        return dataSource;
+    }
+
+    /**
+     * 读写事务使用写连接，其余使用只读连接
+     */
+    private static class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            boolean writeTransaction = TransactionSynchronizationManager.isActualTransactionActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+            return writeTransaction ? WRITE : READ;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.drycleaning.system.config;
+
+import com.drycleaning.system.service.impl.WritePipeline;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+
+/**
+ * 将服务层的读写事务方法（@Service 类中非只读的 @Transactional 方法）交给 WritePipeline 执行
+ * 优先级仅次于 ServiceMetricsAspect，保证在事务拦截器之外：事务在写线程上开启，而不是在调用线程上
+ * （之后的调用链在写线程上继续，因此内层不能再有依赖调用线程上下文的切面）
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class WritePipelineAspect {
+
+    @Autowired
+    private WritePipeline writePipeline;
+
+    @Around("@within(org.springframework.stereotype.Service) "
+            + "&& @annotation(org.springframework.transaction.annotation.Transactional)")
+    public Object submit(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        if (AnnotationUtils.findAnnotation(method, Transactional.class).readOnly()) {
+            return joinPoint.proceed();
+        }
+        return writePipeline.execute(joinPoint::proceed);
+    }
+}
@@ -0,0 +1,45 @@
+package com.drycleaning.system.controller;
+
+import com.drycleaning.system.dto.CacheStatistics;
+import com.drycleaning.system.dto.SlowQuery;
+import com.drycleaning.system.dto.WritePipelineStats;
+import com.drycleaning.system.service.impl.CustomerCache;
+import com.drycleaning.system.service.impl.SlowQueryLog;
+import com.drycleaning.system.service.impl.WritePipeline;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    @Autowired
+    private WritePipeline writePipeline;
+
+    @Autowired
+    private CustomerCache customerCache;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    // 写入队列指标（排队数、批大小等）
+    @GetMapping("/write-pipeline")
+    public ResponseEntity<WritePipelineStats> getWritePipelineStats() {
+        return ResponseEntity.ok(writePipeline.getStats());
+    }
+
+    // 客户缓存命中统计
+    @GetMapping("/customer-cache")
+    public ResponseEntity<List<CacheStatistics>> getCustomerCacheStatistics() {
+        return ResponseEntity.ok(customerCache.getStatistics());
+    }
+
+    // 最近的慢查询（超过耗时或行数阈值的语句及执行计划），最新的在前
+    @GetMapping("/slow-queries")
+    public ResponseEntity<List<SlowQuery>> getSlowQueries() {
+        return ResponseEntity.ok(slowQueryLog.getRecent());
+    }
+}
@@ -1,7 +1,10 @@
 package com.drycleaning.system.controller;
 
+import com.drycleaning.system.dto.CursorPage;
 import com.drycleaning.system.model.Clothes;
 import com.drycleaning.system.service.ClothesService;
+import com.drycleaning.system.util.KeysetPagination;
+import com.drycleaning.system.util.MoneyUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,10 +19,29 @@ public class ClothesController {
     @Autowired
     private ClothesService clothesService;
 
+    /**
+     * 查询衣物列表
+     * 不带参数时返回全部衣物；带 cursor / limit / fields 任一参数时按 id 倒序分页，返回 {items, nextCursor}
+     * @param cursor 上一页返回的 nextCursor（可选）
+     * @param limit 每页条数（可选，默认 50，最大 500）
+     * @param fields 逗号分隔的属性名（可选），只返回这些属性和 id
+     */
     @GetMapping
-    public ResponseEntity<List<Clothes>> getAllClothes() {
-        List<Clothes> clothes = clothesService.getAllClothes();
-        return ResponseEntity.ok(clothes);
+    public ResponseEntity<?> getAllClothes(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        if (cursor == null && limit == null && fields == null) {
+            List<Clothes> clothes = clothesService.getAllClothes();
+            return ResponseEntity.ok(clothes);
+        }
+        try {
+            CursorPage<Clothes> page = clothesService.getClothesPage(cursor,
+                    limit != null ? limit : KeysetPagination.DEFAULT_LIMIT, fields);
+            return ResponseEntity.ok(KeysetPagination.project(page, Clothes.class, fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
@@ -61,7 +83,7 @@ public class ClothesController {
 
     @PutMapping("/{id}/price")
     public ResponseEntity<Clothes> updateClothesPrice(@PathVariable Long id, @RequestParam Double newPrice) {
-        Clothes updatedClothes = clothesService.updateClothesPrice(id, newPrice);
+        Clothes updatedClothes = clothesService.updateClothesPrice(id, MoneyUtil.toCents(newPrice));
         return ResponseEntity.ok(updatedClothes);
     }
 
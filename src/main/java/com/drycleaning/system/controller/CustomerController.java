@@ -1,7 +1,10 @@
 package com.drycleaning.system.controller;
 
+import com.drycleaning.system.dto.CursorPage;
 import com.drycleaning.system.model.Customer;
 import com.drycleaning.system.service.CustomerService;
+import com.drycleaning.system.util.KeysetPagination;
+import com.drycleaning.system.util.MoneyUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,13 +16,43 @@ import java.util.Optional;
 @RequestMapping("/api/customers")
 public class CustomerController {
 
+    /**
+     * 搜索接口默认返回的最大客户数
+     */
+    private static final int DEFAULT_SEARCH_LIMIT = 50;
+
     @Autowired
     private CustomerService customerService;
 
+    /**
+     * 查询客户列表
+     * 不带参数时返回全部客户；带 cursor / limit / fields 任一参数时按 id 倒序分页，返回 {items, nextCursor}
+     * 带 ids 参数时只返回这些 id 对应的客户
+     * @param ids 逗号分隔的客户 id（可选，最多 500 个）
+     * @param cursor 上一页返回的 nextCursor（可选）
+     * @param limit 每页条数（可选，默认 50，最大 500）
+     * @param fields 逗号分隔的属性名（可选），只返回这些属性和 id
+     */
     @GetMapping
-    public ResponseEntity<List<Customer>> getAllCustomers() {
-        List<Customer> customers = customerService.getAllCustomers();
-        return ResponseEntity.ok(customers);
+    public ResponseEntity<?> getAllCustomers(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        if (ids == null && cursor == null && limit == null && fields == null) {
+            List<Customer> customers = customerService.getAllCustomers();
+            return ResponseEntity.ok(customers);
+        }
+        try {
+            if (ids != null) {
+                return ResponseEntity.ok(customerService.getCustomersByIds(ids));
+            }
+            CursorPage<Customer> page = customerService.getCustomersPage(cursor,
+                    limit != null ? limit : KeysetPagination.DEFAULT_LIMIT, fields);
+            return ResponseEntity.ok(KeysetPagination.project(page, Customer.class, fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
@@ -42,7 +75,7 @@ public class CustomerController {
             Customer createdCustomer;
             if (rechargeAmount != null && rechargeAmount > 0) {
                 // 创建客户并充值
-                createdCustomer = customerService.createCustomerWithRecharge(customer, rechargeAmount);
+                createdCustomer = customerService.createCustomerWithRecharge(customer, MoneyUtil.toCents(rechargeAmount));
             } else {
                 // 仅创建客户
                 createdCustomer = customerService.createCustomer(customer);
@@ -83,7 +116,7 @@ public class CustomerController {
 
     @PutMapping("/{id}/balance")
     public ResponseEntity<Customer> updateCustomerBalance(@PathVariable Long id, @RequestParam Double newBalance) {
-        Customer updatedCustomer = customerService.updateCustomerBalance(id, newBalance);
+        Customer updatedCustomer = customerService.updateCustomerBalance(id, MoneyUtil.toCents(newBalance));
         return ResponseEntity.ok(updatedCustomer);
     }
 
@@ -92,14 +125,19 @@ public class CustomerController {
      * @param name 姓名关键词（可选，支持拼音）
      * @param phone 手机号关键词（可选）
      * @param note 备注关键词（可选）
+     * @param limit 最多返回的客户数（默认 50，最大 500）
      * @return 匹配的客户列表
      */
     @GetMapping("/search/fuzzy")
-    public ResponseEntity<List<Customer>> fuzzySearchCustomers(
+    public ResponseEntity<?> fuzzySearchCustomers(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String phone,
-            @RequestParam(required = false) String note) {
-        List<Customer> customers = customerService.fuzzySearchWithPinyin(name, phone, note);
+            @RequestParam(required = false) String note,
+            @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        if (limit < 1 || limit > KeysetPagination.MAX_LIMIT) {
+            return ResponseEntity.badRequest().body("limit 必须在 1 ~ " + KeysetPagination.MAX_LIMIT + " 之间");
+        }
+        List<Customer> customers = customerService.fuzzySearchWithPinyin(name, phone, note, limit);
         return ResponseEntity.ok(customers);
     }
 
@@ -107,12 +145,17 @@ public class CustomerController {
      * 按姓名或拼音搜索客户（支持拼音首字母和全拼）
      * 例如：张三 可以匹配 "张"、"zs"、"zhangsan"
      * @param keyword 姓名、拼音首字母或全拼
+     * @param limit 最多返回的客户数（默认 50，最大 500）
      * @return 匹配的客户列表
      */
     @GetMapping("/search/name-or-pinyin")
-    public ResponseEntity<List<Customer>> searchByNameOrPinyin(
-            @RequestParam String keyword) {
-        List<Customer> customers = customerService.searchByNameOrPinyin(keyword);
+    public ResponseEntity<?> searchByNameOrPinyin(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        if (limit < 1 || limit > KeysetPagination.MAX_LIMIT) {
+            return ResponseEntity.badRequest().body("limit 必须在 1 ~ " + KeysetPagination.MAX_LIMIT + " 之间");
+        }
+        List<Customer> customers = customerService.searchByNameOrPinyin(keyword, limit);
         return ResponseEntity.ok(customers);
     }
 }
\ No newline at end of file
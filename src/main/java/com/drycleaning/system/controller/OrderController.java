@@ -1,13 +1,16 @@
 package com.drycleaning.system.controller;
 
-import com.drycleaning.system.model.Customer;
+import com.drycleaning.system.dto.CursorPage;
+import com.drycleaning.system.dto.OrderWithClothes;
 import com.drycleaning.system.model.Order;
-import com.drycleaning.system.service.CustomerService;
 import com.drycleaning.system.service.OrderService;
+import com.drycleaning.system.util.KeysetPagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,16 +18,37 @@ import java.util.Optional;
 @RequestMapping("/api/orders")
 public class OrderController {
 
-    @Autowired
-    private OrderService orderService;
+    /**
+     * 分页搜索默认每页条数
+     */
+    private static final long DEFAULT_PAGE_SIZE = 20;
 
     @Autowired
-    private CustomerService customerService;
+    private OrderService orderService;
 
+    /**
+     * 查询订单列表
+     * 不带参数时返回全部订单；带 cursor / limit / fields 任一参数时按 id 倒序分页，返回 {items, nextCursor}
+     * @param cursor 上一页返回的 nextCursor（可选）
+     * @param limit 每页条数（可选，默认 50，最大 500）
+     * @param fields 逗号分隔的属性名（可选），只返回这些属性和 id
+     */
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = orderService.getAllOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<?> getAllOrders(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        if (cursor == null && limit == null && fields == null) {
+            List<Order> orders = orderService.getAllOrders();
+            return ResponseEntity.ok(orders);
+        }
+        try {
+            CursorPage<Order> page = orderService.getOrdersPage(cursor,
+                    limit != null ? limit : KeysetPagination.DEFAULT_LIMIT, fields);
+            return ResponseEntity.ok(KeysetPagination.project(page, Order.class, fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
@@ -36,24 +60,6 @@ public class OrderController {
 
     @PostMapping
     public ResponseEntity<?> createOrder(@RequestBody Order order) {
-        // 后端验证：如果是储值支付，检查余额
-        if ("PREPAID".equals(order.getPayType())) {
-            Optional<Customer> customerOpt = customerService.getCustomerById(order.getCustomerId());
-            if (!customerOpt.isPresent()) {
-                return ResponseEntity.badRequest().body("客户不存在");
-            }
-            
-            Customer customer = customerOpt.get();
-            if (customer.getBalance() < order.getTotalPrice()) {
-                return ResponseEntity.badRequest()
-                    .body("储值余额不足！当前余额：¥" + customer.getBalance() + "，订单金额：¥" + order.getTotalPrice());
-            }
-            
-            // 扣除余额
-            Double newBalance = customer.getBalance() - order.getTotalPrice();
-            customerService.updateCustomerBalance(order.getCustomerId(), newBalance);
-        }
-        
         // 验证必填字段
         if (order.getOrderNo() == null || order.getOrderNo().trim().isEmpty()) {
             return ResponseEntity.badRequest().body("订单号不能为空");
@@ -63,12 +69,32 @@ public class OrderController {
             return ResponseEntity.badRequest().body("客户 ID 不能为空");
         }
         
-        if (order.getTotalPrice() == null || order.getTotalPrice() <= 0) {
+        if (order.getTotalPriceCents() == null || order.getTotalPriceCents() <= 0) {
             return ResponseEntity.badRequest().body("订单金额必须大于 0");
         }
         
-        Order createdOrder = orderService.createOrder(order);
-        return ResponseEntity.ok(createdOrder);
+        // 储值支付的余额检查和扣除在创建订单的事务中完成
+        try {
+            Order createdOrder = orderService.createOrder(order);
+            return ResponseEntity.ok(createdOrder);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 一次性创建订单及其全部衣物（同一事务，储值支付同时扣除余额）
+     * @param request 订单和衣物列表
+     * @return 创建后的订单及衣物（含衣物 id）
+     */
+    @PostMapping("/full")
+    public ResponseEntity<?> createOrderWithClothes(@RequestBody OrderWithClothes request) {
+        try {
+            OrderWithClothes created = orderService.createOrderWithClothes(request.getOrder(), request.getClothes());
+            return ResponseEntity.ok(created);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PutMapping("/{id}")
@@ -101,6 +127,20 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    /**
+     * 按创建日期区间查询订单
+     * @param from 起始日期（含）
+     * @param to 结束日期（含，默认与起始日期相同）
+     * @return 按创建时间升序的订单列表
+     */
+    @GetMapping("/created")
+    public ResponseEntity<List<Order>> getOrdersByCreateDate(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<Order> orders = orderService.getOrdersByCreateDate(from, to != null ? to : from);
+        return ResponseEntity.ok(orders);
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<Order> updateOrderStatus(@PathVariable Long id, @RequestParam String newStatus) {
         Order updatedOrder = orderService.updateOrderStatus(id, newStatus);
@@ -108,18 +148,31 @@ public class OrderController {
     }
 
     /**
-     * 模糊搜索订单 - 支持订单号、客户姓名、衣物类型的多条件组合查询
+     * 模糊搜索订单 - 支持订单号、客户姓名、手机号、衣物类型的多条件组合查询
      * @param orderNo 订单号关键词（可选）
-     * @param customerName 客户姓名关键词（可选）
+     * @param customerName 客户姓名或拼音关键词（可选）
+     * @param phone 客户手机号关键词（可选）
      * @param clothesType 衣物类型关键词（可选）
-     * @return 匹配的订单列表
+     * @param page 页码，从 1 开始（可选，与 size 同时传入时分页返回 records/total）
+     * @param size 每页条数（可选）
+     * @return 匹配的订单列表，或分页结果
      */
     @GetMapping("/search/fuzzy")
-    public ResponseEntity<List<Order>> fuzzySearchOrders(
+    public ResponseEntity<?> fuzzySearchOrders(
             @RequestParam(required = false) String orderNo,
             @RequestParam(required = false) String customerName,
-            @RequestParam(required = false) String clothesType) {
-        List<Order> orders = orderService.fuzzySearch(orderNo, customerName, clothesType);
-        return ResponseEntity.ok(orders);
+            @RequestParam(required = false) String phone,
+            @RequestParam(required = false) String clothesType,
+            @RequestParam(required = false) Long page,
+            @RequestParam(required = false) Long size) {
+        if (page == null && size == null) {
+            return ResponseEntity.ok(orderService.fuzzySearch(orderNo, customerName, phone, clothesType));
+        }
+        try {
+            return ResponseEntity.ok(orderService.fuzzySearch(orderNo, customerName, phone, clothesType,
+                    page != null ? page : 1, size != null ? size : DEFAULT_PAGE_SIZE));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,20 @@
 package com.drycleaning.system.controller;
 
-import com.drycleaning.system.model.Customer;
+import com.drycleaning.system.dto.ReconciliationReport;
+import com.drycleaning.system.enums.LedgerReason;
 import com.drycleaning.system.model.RechargeRecord;
+import com.drycleaning.system.service.BalanceLedgerService;
 import com.drycleaning.system.service.CustomerService;
 import com.drycleaning.system.service.RechargeRecordService;
+import com.drycleaning.system.util.KeysetPagination;
+import com.drycleaning.system.util.MoneyUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/prepaid")
@@ -21,70 +26,82 @@ public class PrepaidController {
     @Autowired
     private RechargeRecordService rechargeRecordService;
 
-    /**
-     * 计算赠送金额比例
-     * - 充值 >= 200 送 20%
-     * - 充值 >= 100 送 10%
-     * - 充值 < 100 不赠送
-     */
-    private Double calculateGiftAmount(Double amount) {
-        if (amount >= 200) {
-            return amount * 0.2;
-        } else if (amount >= 100) {
-            return amount * 0.1;
-        } else {
-            return 0.0;
-        }
-    }
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
 
     // 充值功能（阶梯赠送：100 送 10%，200 送 20%）
     @PostMapping("/recharge")
     public ResponseEntity<String> recharge(@RequestParam Long customerId, @RequestParam Double amount) {
-        Optional<Customer> customerOpt = customerService.getCustomerById(customerId);
-        if (!customerOpt.isPresent()) {
-            return ResponseEntity.badRequest().body("Customer not found");
-        }
-
-        Customer customer = customerOpt.get();
-
         // 计算赠送金额（阶梯比例）
-        Double giftAmount = calculateGiftAmount(amount);
-        Double totalAdded = amount + giftAmount;
-
-        // 更新客户余额
-        Double newBalance = customer.getBalance() + totalAdded;
-        customerService.updateCustomerBalance(customerId, newBalance);
-
-        // 创建充值记录
-        RechargeRecord record = new RechargeRecord();
-        record.setCustomerId(customerId);
-        record.setRechargeAmount(amount);
-        record.setGiftAmount(giftAmount);
-
-        rechargeRecordService.createRechargeRecord(record);
+        long amountCents = MoneyUtil.toCents(amount);
+        long giftCents = MoneyUtil.rechargeGiftCents(amountCents);
+
+        // 充值记录、余额（单条 UPDATE，并发充值不会丢失）和余额流水在同一事务中写入
+        long newBalanceCents;
+        try {
+            newBalanceCents = rechargeRecordService.recharge(customerId, amountCents, giftCents);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
-        return ResponseEntity.ok("Recharge successful. Amount: " + amount + ", Gift: " + giftAmount + ", New Balance: " + newBalance);
+        return ResponseEntity.ok("Recharge successful. Amount: " + MoneyUtil.toYuan(amountCents)
+                + ", Gift: " + MoneyUtil.toYuan(giftCents) + ", New Balance: " + MoneyUtil.toYuan(newBalanceCents));
     }
 
     // 预付费支付功能
     @PostMapping("/pay")
-    public ResponseEntity<String> payWithPrepaid(@RequestParam Long customerId, @RequestParam Double amount) {
-        Optional<Customer> customerOpt = customerService.getCustomerById(customerId);
-        if (!customerOpt.isPresent()) {
-            return ResponseEntity.badRequest().body("Customer not found");
+    public ResponseEntity<String> payWithPrepaid(@RequestParam Long customerId, @RequestParam Double amount,
+                                                 @RequestParam(required = false) String orderNo) {
+        // 扣除余额并记录流水（余额不足时不扣除）
+        long amountCents = MoneyUtil.toCents(amount);
+        long newBalanceCents;
+        try {
+            newBalanceCents = customerService.debit(customerId, amountCents, LedgerReason.PAYMENT, orderNo);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
 
-        Customer customer = customerOpt.get();
-        
-        if (customer.getBalance() < amount) {
-            return ResponseEntity.badRequest().body("Insufficient balance. Current balance: " + customer.getBalance());
-        }
+        return ResponseEntity.ok("Payment successful. Deducted: " + MoneyUtil.toYuan(amountCents)
+                + ", Remaining balance: " + MoneyUtil.toYuan(newBalanceCents));
+    }
 
-        // 扣除余额
-        Double newBalance = customer.getBalance() - amount;
-        customerService.updateCustomerBalance(customerId, newBalance);
+    /**
+     * 充值记录列表（含客户姓名），按 id 倒序分页，返回 {items, nextCursor}
+     * @param from 开始日期（可选，包含）
+     * @param to 结束日期（可选，包含）
+     * @param cursor 上一页返回的 nextCursor（可选）
+     * @param limit 每页条数（可选，默认 50，最大 500）
+     */
+    @GetMapping("/recharge-records")
+    public ResponseEntity<?> getRechargeHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(rechargeRecordService.getRechargeHistory(from, to, cursor,
+                    limit != null ? limit : KeysetPagination.DEFAULT_LIMIT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 
-        return ResponseEntity.ok("Payment successful. Deducted: " + amount + ", Remaining balance: " + newBalance);
+    /**
+     * 按客户汇总的充值情况（充值次数、充值合计、赠送合计、最近一次充值时间），按客户 id 倒序分页
+     * 参数同 /recharge-records，cursor 为上一页返回的 nextCursor（客户 id）
+     */
+    @GetMapping("/recharge-summary")
+    public ResponseEntity<?> getRechargeSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(rechargeRecordService.getRechargeSummary(from, to, cursor,
+                    limit != null ? limit : KeysetPagination.DEFAULT_LIMIT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     // 获取充值记录
@@ -93,4 +110,41 @@ public class PrepaidController {
         List<RechargeRecord> records = rechargeRecordService.getRechargeRecordsByCustomerId(customerId);
         return ResponseEntity.ok(records);
     }
+
+    /**
+     * 客户储值对账单（来自余额流水，不需要扫描订单）
+     * @param customerId 客户 ID
+     * @param from 开始日期（可选，包含）
+     * @param to 结束日期（可选，包含）
+     * @return 区间内的流水及期初、期末余额
+     */
+    @GetMapping("/statement/{customerId}")
+    public ResponseEntity<?> getStatement(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(balanceLedgerService.getStatement(customerId, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 最近一次余额对账结果（本次启动后尚未对账时返回 404）
+     */
+    @GetMapping("/reconciliation")
+    public ResponseEntity<ReconciliationReport> getLastReconciliation() {
+        return balanceLedgerService.getLastReconciliation()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 立即执行一次余额对账
+     */
+    @PostMapping("/reconciliation")
+    public ResponseEntity<ReconciliationReport> reconcile() {
+        return ResponseEntity.ok(balanceLedgerService.reconcile());
+    }
 }
@@ -46,6 +46,12 @@ public class StatisticsController {
         return ResponseEntity.ok(count);
     }
 
+    @GetMapping("/orders-count-by-status")
+    public ResponseEntity<Map<String, Long>> getOrderCountByStatus() {
+        Map<String, Long> counts = statisticsService.getOrderCountByStatus();
+        return ResponseEntity.ok(counts);
+    }
+
     @GetMapping("/today-orders-count")
     public ResponseEntity<Long> getTodayOrderCount(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         Long count = statisticsService.getTodayOrderCount(date);
@@ -58,9 +64,61 @@ public class StatisticsController {
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * 仪表板统计 - 一次返回仪表板页面需要的全部数据
+     * @param date 统计日期（可选，默认今天）
+     * @return 当日收入、现金收入、储值收入、订单数、未完成订单数、客户总数
+     */
+    @GetMapping("/dashboard")
+    public ResponseEntity<Map<String, Object>> getDashboardStatistics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        Map<String, Object> stats = statisticsService.getDashboardStatistics(date != null ? date : LocalDate.now());
+        return ResponseEntity.ok(stats);
+    }
+
     @GetMapping("/monthly")
     public ResponseEntity<Map<String, Object>> getMonthlyStatistics(@RequestParam int year, @RequestParam int month) {
         Map<String, Object> stats = statisticsService.getMonthlyStatistics(year, month);
         return ResponseEntity.ok(stats);
     }
-}
\ No newline at end of file
+
+    /**
+     * 统计序列 - 一次返回区间内按天/周/月分桶的统计数据，用于绘制趋势图
+     * @param from 起始日期（含）
+     * @param to 结束日期（含）
+     * @param granularity 粒度：day（默认）、week、month
+     * @return 连续的桶标签及每个桶的收入、现金收入、充值金额、订单数
+     */
+    @GetMapping("/series")
+    public ResponseEntity<?> getSeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String granularity) {
+        try {
+            return ResponseEntity.ok(statisticsService.getSeries(from, to, granularity));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 客户排行榜 - 只返回前 k 名
+     * @param from 起始日期（可选，含）
+     * @param to 结束日期（可选，含）
+     * @param by 排行依据：spend（订单金额，默认）、orders（订单数）、recharge（充值金额）
+     * @param k 名次数（默认 10，最大 100）
+     * @return 名次、客户、次数及金额合计
+     */
+    @GetMapping("/top-customers")
+    public ResponseEntity<?> getTopCustomers(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "spend") String by,
+            @RequestParam(defaultValue = "10") int k) {
+        try {
+            return ResponseEntity.ok(statisticsService.getTopCustomers(from, to, by, k));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.drycleaning.system.dto;
+
+import com.drycleaning.system.util.MoneyUtil;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * 对账差异：客户表中的余额与按流水计算的余额不一致
+ */
+public class BalanceMismatch {
+
+    private Long customerId;
+
+    @JsonIgnore
+    private long balanceCents;
+
+    @JsonIgnore
+    private long ledgerBalanceCents;
+
+    // Constructors
+    public BalanceMismatch() {
+    }
+
+    // Getters and Setters
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public long getBalanceCents() {
+        return balanceCents;
+    }
+
+    public void setBalanceCents(long balanceCents) {
+        this.balanceCents = balanceCents;
+    }
+
+    public double getBalance() {
+        return MoneyUtil.toYuan(balanceCents);
+    }
+
+    public long getLedgerBalanceCents() {
+        return ledgerBalanceCents;
+    }
+
+    public void setLedgerBalanceCents(long ledgerBalanceCents) {
+        this.ledgerBalanceCents = ledgerBalanceCents;
+    }
+
+    public double getLedgerBalance() {
+        return MoneyUtil.toYuan(ledgerBalanceCents);
+    }
+}
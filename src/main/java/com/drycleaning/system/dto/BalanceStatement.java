@@ -0,0 +1,96 @@
+package com.drycleaning.system.dto;
+
+import com.drycleaning.system.model.BalanceLedger;
+
+import java.util.List;
+
+/**
+ * 客户储值对账单：区间内的流水及期初、期末余额
+ */
+public class BalanceStatement {
+
+    private Long customerId;
+
+    private String from;
+
+    private String to;
+
+    private Double openingBalance;
+
+    private Double closingBalance;
+
+    private Double totalCredit;
+
+    private Double totalDebit;
+
+    private List<BalanceLedger> entries;
+
+    // Constructors
+    public BalanceStatement() {
+    }
+
+    // Getters and Setters
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public Double getOpeningBalance() {
+        return openingBalance;
+    }
+
+    public void setOpeningBalance(Double openingBalance) {
+        this.openingBalance = openingBalance;
+    }
+
+    public Double getClosingBalance() {
+        return closingBalance;
+    }
+
+    public void setClosingBalance(Double closingBalance) {
+        this.closingBalance = closingBalance;
+    }
+
+    public Double getTotalCredit() {
+        return totalCredit;
+    }
+
+    public void setTotalCredit(Double totalCredit) {
+        this.totalCredit = totalCredit;
+    }
+
+    public Double getTotalDebit() {
+        return totalDebit;
+    }
+
+    public void setTotalDebit(Double totalDebit) {
+        this.totalDebit = totalDebit;
+    }
+
+    public List<BalanceLedger> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<BalanceLedger> entries) {
+        this.entries = entries;
+    }
+}
@@ -0,0 +1,40 @@
+package com.drycleaning.system.dto;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ * 按 id 倒序（最新的在前），下一页以 nextCursor 作为 cursor 参数请求；nextCursor 为 null 表示没有更多数据
+ */
+public class CursorPage<T> {
+
+    private List<T> items;
+
+    private Long nextCursor;
+
+    // Constructors
+    public CursorPage() {
+    }
+
+    public CursorPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
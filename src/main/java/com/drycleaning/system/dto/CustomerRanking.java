@@ -0,0 +1,71 @@
+package com.drycleaning.system.dto;
+
+import com.drycleaning.system.util.MoneyUtil;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * 客户排行榜中的一行
+ * 按消费额或订单数排行时，count 为订单数、amount 为订单金额合计；按充值排行时，count 为充值次数、amount 为充值金额合计（不含赠送）
+ */
+public class CustomerRanking {
+
+    private int rank;
+
+    private Long customerId;
+
+    private String customerName;
+
+    private long count;
+
+    @JsonIgnore
+    private long amountCents;
+
+    // Constructors
+    public CustomerRanking() {
+    }
+
+    // Getters and Setters
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public void setAmountCents(long amountCents) {
+        this.amountCents = amountCents;
+    }
+
+    public double getAmount() {
+        return MoneyUtil.toYuan(amountCents);
+    }
+}
@@ -0,0 +1,85 @@
+package com.drycleaning.system.dto;
+
+import com.drycleaning.system.util.MoneyUtil;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * 按客户汇总的充值情况：充值次数、充值合计、赠送合计、最近一次充值时间
+ */
+public class CustomerRechargeSummary {
+
+    private Long customerId;
+
+    private String customerName;
+
+    private long rechargeCount;
+
+    @JsonIgnore
+    private long totalRechargedCents;
+
+    @JsonIgnore
+    private long totalGiftCents;
+
+    private String lastRechargeTime;
+
+    // Constructors
+    public CustomerRechargeSummary() {
+    }
+
+    // Getters and Setters
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+
+    public long getRechargeCount() {
+        return rechargeCount;
+    }
+
+    public void setRechargeCount(long rechargeCount) {
+        this.rechargeCount = rechargeCount;
+    }
+
+    public long getTotalRechargedCents() {
+        return totalRechargedCents;
+    }
+
+    public void setTotalRechargedCents(long totalRechargedCents) {
+        this.totalRechargedCents = totalRechargedCents;
+    }
+
+    public double getTotalRecharged() {
+        return MoneyUtil.toYuan(totalRechargedCents);
+    }
+
+    public long getTotalGiftCents() {
+        return totalGiftCents;
+    }
+
+    public void setTotalGiftCents(long totalGiftCents) {
+        this.totalGiftCents = totalGiftCents;
+    }
+
+    public double getTotalGift() {
+        return MoneyUtil.toYuan(totalGiftCents);
+    }
+
+    public String getLastRechargeTime() {
+        return lastRechargeTime;
+    }
+
+    public void setLastRechargeTime(String lastRechargeTime) {
+        this.lastRechargeTime = lastRechargeTime;
+    }
+}
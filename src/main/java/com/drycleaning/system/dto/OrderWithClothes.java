@@ -0,0 +1,42 @@
+package com.drycleaning.system.dto;
+
+import com.drycleaning.system.model.Clothes;
+import com.drycleaning.system.model.Order;
+
+import java.util.List;
+
+/**
+ * 订单及其衣物，用于一次性创建订单（请求）和返回创建结果（响应）
+ */
+public class OrderWithClothes {
+
+    private Order order;
+
+    private List<Clothes> clothes;
+
+    // Constructors
+    public OrderWithClothes() {
+    }
+
+    public OrderWithClothes(Order order, List<Clothes> clothes) {
+        this.order = order;
+        this.clothes = clothes;
+    }
+
+    // Getters and Setters
+    public Order getOrder() {
+        return order;
+    }
+
+    public void setOrder(Order order) {
+        this.order = order;
+    }
+
+    public List<Clothes> getClothes() {
+        return clothes;
+    }
+
+    public void setClothes(List<Clothes> clothes) {
+        this.clothes = clothes;
+    }
+}
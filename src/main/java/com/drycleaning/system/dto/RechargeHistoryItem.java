@@ -0,0 +1,85 @@
+package com.drycleaning.system.dto;
+
+import com.drycleaning.system.util.MoneyUtil;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * 充值记录及客户姓名（充值记录列表，一次联表查询得到）
+ */
+public class RechargeHistoryItem {
+
+    private Long id;
+
+    private Long customerId;
+
+    private String customerName;
+
+    @JsonIgnore
+    private long rechargeAmountCents;
+
+    @JsonIgnore
+    private long giftAmountCents;
+
+    private String createTime;
+
+    // Constructors
+    public RechargeHistoryItem() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+
+    public long getRechargeAmountCents() {
+        return rechargeAmountCents;
+    }
+
+    public void setRechargeAmountCents(long rechargeAmountCents) {
+        this.rechargeAmountCents = rechargeAmountCents;
+    }
+
+    public double getRechargeAmount() {
+        return MoneyUtil.toYuan(rechargeAmountCents);
+    }
+
+    public long getGiftAmountCents() {
+        return giftAmountCents;
+    }
+
+    public void setGiftAmountCents(long giftAmountCents) {
+        this.giftAmountCents = giftAmountCents;
+    }
+
+    public double getGiftAmount() {
+        return MoneyUtil.toYuan(giftAmountCents);
+    }
+
+    public String getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(String createTime) {
+        this.createTime = createTime;
+    }
+}
@@ -0,0 +1,62 @@
+package com.drycleaning.system.dto;
+
+import java.util.List;
+
+/**
+ * 余额对账结果
+ */
+public class ReconciliationReport {
+
+    private String startTime;
+
+    private long elapsedMs;
+
+    private long checkedCustomers;
+
+    private List<BalanceMismatch> mismatches;
+
+    // Constructors
+    public ReconciliationReport() {
+    }
+
+    public ReconciliationReport(String startTime, long elapsedMs, long checkedCustomers,
+                                List<BalanceMismatch> mismatches) {
+        this.startTime = startTime;
+        this.elapsedMs = elapsedMs;
+        this.checkedCustomers = checkedCustomers;
+        this.mismatches = mismatches;
+    }
+
+    // Getters and Setters
+    public String getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(String startTime) {
+        this.startTime = startTime;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public long getCheckedCustomers() {
+        return checkedCustomers;
+    }
+
+    public void setCheckedCustomers(long checkedCustomers) {
+        this.checkedCustomers = checkedCustomers;
+    }
+
+    public List<BalanceMismatch> getMismatches() {
+        return mismatches;
+    }
+
+    public void setMismatches(List<BalanceMismatch> mismatches) {
+        this.mismatches = mismatches;
+    }
+}
@@ -0,0 +1,119 @@
+package com.drycleaning.system.dto;
+
+import java.util.List;
+
+/**
+ * 一次超过耗时或行数阈值的 SQL 语句（慢查询记录）
+ */
+public class SlowQuery {
+
+    private String occurredAt;
+
+    /**
+     * Mapper 类名.方法名，如 OrderMapper.selectList
+     */
+    private String statement;
+
+    /**
+     * SELECT、INSERT、UPDATE、DELETE
+     */
+    private String type;
+
+    /**
+     * 触发原因：SLOW（超过耗时阈值）、ROWS（超过行数阈值），或两者
+     */
+    private List<String> reasons;
+
+    private double elapsedMs;
+
+    /**
+     * 查询为返回行数，增删改为影响行数
+     */
+    private long rows;
+
+    private String sql;
+
+    private List<String> parameters;
+
+    /**
+     * EXPLAIN QUERY PLAN 的结果，子步骤按层级缩进；取不到时为空
+     */
+    private List<String> plan;
+
+    // Constructors
+    public SlowQuery() {
+    }
+
+    // Getters and Setters
+    public String getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(String occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public String getStatement() {
+        return statement;
+    }
+
+    public void setStatement(String statement) {
+        this.statement = statement;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public List<String> getReasons() {
+        return reasons;
+    }
+
+    public void setReasons(List<String> reasons) {
+        this.reasons = reasons;
+    }
+
+    public double getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(double elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public void setSql(String sql) {
+        this.sql = sql;
+    }
+
+    public List<String> getParameters() {
+        return parameters;
+    }
+
+    public void setParameters(List<String> parameters) {
+        this.parameters = parameters;
+    }
+
+    public List<String> getPlan() {
+        return plan;
+    }
+
+    public void setPlan(List<String> plan) {
+        this.plan = plan;
+    }
+}
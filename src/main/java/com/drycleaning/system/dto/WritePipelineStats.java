@@ -0,0 +1,124 @@
+package com.drycleaning.system.dto;
+
+/**
+ * 写入队列的运行指标
+ */
+public class WritePipelineStats {
+
+    /**
+     * 当前排队等待执行的写操作数
+     */
+    private int queueDepth;
+
+    /**
+     * 启动以来的最大排队数
+     */
+    private int maxQueueDepth;
+
+    private long submittedTasks;
+
+    private long completedTasks;
+
+    private long failedTasks;
+
+    /**
+     * 已提交的事务（批）数
+     */
+    private long batches;
+
+    private int lastBatchSize;
+
+    private int maxBatchSize;
+
+    private double averageBatchSize;
+
+    /**
+     * 整批提交失败、改为逐个单独执行的批数
+     */
+    private long fallbackBatches;
+
+    // Constructors
+    public WritePipelineStats() {
+    }
+
+    // Getters and Setters
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public void setQueueDepth(int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    public void setMaxQueueDepth(int maxQueueDepth) {
+        this.maxQueueDepth = maxQueueDepth;
+    }
+
+    public long getSubmittedTasks() {
+        return submittedTasks;
+    }
+
+    public void setSubmittedTasks(long submittedTasks) {
+        this.submittedTasks = submittedTasks;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public void setCompletedTasks(long completedTasks) {
+        this.completedTasks = completedTasks;
+    }
+
+    public long getFailedTasks() {
+        return failedTasks;
+    }
+
+    public void setFailedTasks(long failedTasks) {
+        this.failedTasks = failedTasks;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public void setBatches(long batches) {
+        this.batches = batches;
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public void setLastBatchSize(int lastBatchSize) {
+        this.lastBatchSize = lastBatchSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public double getAverageBatchSize() {
+        return averageBatchSize;
+    }
+
+    public void setAverageBatchSize(double averageBatchSize) {
+        this.averageBatchSize = averageBatchSize;
+    }
+
+    public long getFallbackBatches() {
+        return fallbackBatches;
+    }
+
+    public void setFallbackBatches(long fallbackBatches) {
+        this.fallbackBatches = fallbackBatches;
+    }
+}
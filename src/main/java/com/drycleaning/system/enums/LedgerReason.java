@@ -0,0 +1,22 @@
+package com.drycleaning.system.enums;
+
+/**
+ * 余额流水的变动原因
+ */
+public enum LedgerReason {
+    OPENING("期初余额"),
+    RECHARGE("充值"),
+    ORDER_PAYMENT("订单储值支付"),
+    PAYMENT("储值消费"),
+    ADJUSTMENT("余额调整");
+
+    private final String description;
+
+    LedgerReason(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,79 @@
+package com.drycleaning.system.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.drycleaning.system.dto.BalanceMismatch;
+import com.drycleaning.system.model.BalanceLedger;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+@Mapper
+public interface BalanceLedgerMapper extends BaseMapper<BalanceLedger> {
+
+    /**
+     * 查询客户在 [fromTs, toTs) 内的流水，按发生顺序排列
+     */
+    @Select("SELECT * FROM balance_ledger WHERE customer_id = #{customerId} " +
+            "AND create_ts >= #{fromTs} AND create_ts < #{toTs} ORDER BY id")
+    List<BalanceLedger> findByCustomerBetween(@Param("customerId") Long customerId,
+                                              @Param("fromTs") long fromTs,
+                                              @Param("toTs") long toTs);
+
+    /**
+     * 客户在某一时刻之前的最后余额（分，没有流水时返回 null）
+     */
+    @Select("SELECT balance_after_cents FROM balance_ledger WHERE customer_id = #{customerId} " +
+            "AND create_ts < #{beforeTs} ORDER BY id DESC LIMIT 1")
+    Long findBalanceBefore(@Param("customerId") Long customerId, @Param("beforeTs") long beforeTs);
+
+    /**
+     * 按流水计算客户余额（分）：最近一次快照 + 快照之后的流水
+     */
+    @Select("SELECT COALESCE((SELECT balance_cents FROM balance_snapshot WHERE customer_id = #{customerId}), 0) + " +
+            "COALESCE((SELECT SUM(delta_cents) FROM balance_ledger WHERE customer_id = #{customerId} " +
+            "AND id > COALESCE((SELECT ledger_id FROM balance_snapshot WHERE customer_id = #{customerId}), 0)), 0)")
+    long computeBalance(@Param("customerId") Long customerId);
+
+    /**
+     * 为快照之后有新流水的客户生成新快照（在上一次快照的基础上累加新流水）
+     * @return 更新的快照数
+     */
+    @Insert("INSERT INTO balance_snapshot (customer_id, ledger_id, balance_cents, create_time) " +
+            "SELECT l.customer_id, MAX(l.id), COALESCE(s.balance_cents, 0) + SUM(l.delta_cents), #{createTime} " +
+            "FROM balance_ledger l LEFT JOIN balance_snapshot s ON s.customer_id = l.customer_id " +
+            "WHERE l.id > COALESCE(s.ledger_id, 0) " +
+            "GROUP BY l.customer_id " +
+            "ON CONFLICT(customer_id) DO UPDATE SET " +
+            "ledger_id = excluded.ledger_id, balance_cents = excluded.balance_cents, create_time = excluded.create_time")
+    int takeSnapshots(@Param("createTime") String createTime);
+
+    /**
+     * 对账：找出 id 在 [fromId, toId) 内、客户表余额与流水余额不一致的客户
+     */
+    @Select("SELECT * FROM (" +
+            "SELECT c.id AS customer_id, COALESCE(c.balance_cents, 0) AS balance_cents, " +
+            "COALESCE(s.balance_cents, 0) + COALESCE((SELECT SUM(l.delta_cents) FROM balance_ledger l " +
+            "WHERE l.customer_id = c.id AND l.id > COALESCE(s.ledger_id, 0)), 0) AS ledger_balance_cents " +
+            "FROM customer c LEFT JOIN balance_snapshot s ON s.customer_id = c.id " +
+            "WHERE c.id >= #{fromId} AND c.id < #{toId}" +
+            ") WHERE balance_cents <> ledger_balance_cents")
+    List<BalanceMismatch> findMismatches(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * 首次启用流水时，为已有余额的客户写入期初流水
+     * @return 写入的流水数
+     */
+    @Insert("INSERT INTO balance_ledger (customer_id, delta_cents, balance_after_cents, reason, create_time, create_ts) " +
+            "SELECT id, balance_cents, balance_cents, 'OPENING', #{createTime}, #{createTs} FROM customer " +
+            "WHERE balance_cents IS NOT NULL AND balance_cents <> 0")
+    int insertOpeningEntries(@Param("createTime") String createTime, @Param("createTs") long createTs);
+
+    @Select("SELECT EXISTS (SELECT 1 FROM balance_ledger)")
+    boolean hasEntries();
+
+    @Select("SELECT COALESCE(MAX(id), 0) FROM customer")
+    long maxCustomerId();
+}
@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.drycleaning.system.model.Customer;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
@@ -21,6 +22,53 @@ public interface CustomerMapper extends BaseMapper<Customer> {
     @Select("SELECT * FROM customer WHERE name LIKE '%' || #{name} || '%'")
     List<Customer> findByNameContaining(@Param("name") String name);
 
+    /**
+     * 按姓名或拼音（首字母、全拼）及手机号搜索客户，使用预先计算的拼音列，不在 Java 中逐行转换
+     * 匹配规则与 PinyinUtil.matchesPinyin 一致：姓名包含关键词，或拼音包含小写关键词
+     * （多音字姓氏的两种读音都存储在拼音列中，见 PinyinUtil.toSearchPinyinInitials）
+     * @param name 姓名关键词（为 null 时不按姓名过滤）
+     * @param pinyin 小写的拼音关键词（name 不为 null 时必填）
+     * @param phone 手机号关键词（为 null 时不按手机号过滤）
+     * @param limit 最多返回的行数
+     * @return 按 id 升序的客户列表
+     */
+    @Select("<script>" +
+            "SELECT * FROM customer" +
+            "<where>" +
+            "<if test='phone != null'>instr(phone, #{phone}) > 0</if>" +
+            "<if test='name != null'> AND (instr(name, #{name}) > 0" +
+            " OR instr(name_pinyin_initials, #{pinyin}) > 0" +
+            " OR instr(name_pinyin_full, #{pinyin}) > 0)</if>" +
+            "</where>" +
+            " ORDER BY id LIMIT #{limit}" +
+            "</script>")
+    List<Customer> searchByNameOrPinyin(@Param("name") String name,
+                                        @Param("pinyin") String pinyin,
+                                        @Param("phone") String phone,
+                                        @Param("limit") int limit);
+
+    /**
+     * 扣减余额（一条条件 UPDATE，余额不足时不修改）
+     * 使用 RETURNING 在同一语句中返回扣减后的余额；flushCache 保证同一事务中重复调用不会命中一级缓存
+     * @param id 客户 ID
+     * @param amountCents 扣减金额（分）
+     * @return 扣减后的余额（分）；客户不存在或余额不足时返回 null
+     */
+    @Select("UPDATE customer SET balance_cents = balance_cents - #{amountCents} " +
+            "WHERE id = #{id} AND balance_cents >= #{amountCents} RETURNING balance_cents")
+    @Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+    Long debit(@Param("id") Long id, @Param("amountCents") long amountCents);
+
+    /**
+     * 增加余额
+     * @param id 客户 ID
+     * @param amountCents 增加金额（分）
+     * @return 增加后的余额（分）；客户不存在时返回 null
+     */
+    @Select("UPDATE customer SET balance_cents = balance_cents + #{amountCents} WHERE id = #{id} RETURNING balance_cents")
+    @Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+    Long credit(@Param("id") Long id, @Param("amountCents") long amountCents);
+
     /**
      * 模糊搜索客户 - 支持姓名、手机号、备注的多条件组合查询
      * @param name 姓名关键词（可选）
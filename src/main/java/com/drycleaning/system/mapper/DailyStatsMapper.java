@@ -0,0 +1,65 @@
+package com.drycleaning.system.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.drycleaning.system.model.DailyStats;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+@Mapper
+public interface DailyStatsMapper extends BaseMapper<DailyStats> {
+
+    /**
+     * 按增量累加某一天的汇总数据（金额为分，整数累加没有舍入误差），当天没有记录时插入
+     */
+    @Insert("INSERT INTO daily_stats (stat_date, cash_income_cents, prepaid_volume_cents, recharge_amount_cents, gift_amount_cents, order_count) " +
+            "VALUES (#{statDate}, #{cashIncomeCents}, #{prepaidVolumeCents}, #{rechargeAmountCents}, #{giftAmountCents}, #{orderCount}) " +
+            "ON CONFLICT(stat_date) DO UPDATE SET " +
+            "cash_income_cents = cash_income_cents + excluded.cash_income_cents, " +
+            "prepaid_volume_cents = prepaid_volume_cents + excluded.prepaid_volume_cents, " +
+            "recharge_amount_cents = recharge_amount_cents + excluded.recharge_amount_cents, " +
+            "gift_amount_cents = gift_amount_cents + excluded.gift_amount_cents, " +
+            "order_count = order_count + excluded.order_count")
+    int addDelta(DailyStats delta);
+
+    /**
+     * 查询日期区间 [start, end) 内每天的汇总数据
+     */
+    @Select("SELECT * FROM daily_stats WHERE stat_date >= #{start} AND stat_date < #{end} ORDER BY stat_date")
+    List<DailyStats> findBetween(@Param("start") String start, @Param("end") String end);
+
+    /**
+     * 合计日期区间 [start, end) 内的汇总数据
+     */
+    @Select("SELECT COALESCE(SUM(cash_income_cents), 0) AS cash_income_cents, " +
+            "COALESCE(SUM(prepaid_volume_cents), 0) AS prepaid_volume_cents, " +
+            "COALESCE(SUM(recharge_amount_cents), 0) AS recharge_amount_cents, " +
+            "COALESCE(SUM(gift_amount_cents), 0) AS gift_amount_cents, " +
+            "COALESCE(SUM(order_count), 0) AS order_count " +
+            "FROM daily_stats WHERE stat_date >= #{start} AND stat_date < #{end}")
+    DailyStats sumBetween(@Param("start") String start, @Param("end") String end);
+
+    @Delete("DELETE FROM daily_stats")
+    int deleteAllStats();
+
+    /**
+     * 从订单表和充值记录表全量重建汇总数据
+     */
+    @Insert("INSERT INTO daily_stats (stat_date, cash_income_cents, prepaid_volume_cents, recharge_amount_cents, gift_amount_cents, order_count) " +
+            "SELECT stat_date, SUM(cash_income_cents), SUM(prepaid_volume_cents), SUM(recharge_amount_cents), SUM(gift_amount_cents), SUM(order_count) " +
+            "FROM (" +
+            "  SELECT substr(create_time, 1, 10) AS stat_date, " +
+            "    CASE WHEN UPPER(pay_type) = 'CASH' THEN total_price_cents ELSE 0 END AS cash_income_cents, " +
+            "    CASE WHEN UPPER(pay_type) = 'PREPAID' THEN total_price_cents ELSE 0 END AS prepaid_volume_cents, " +
+            "    0 AS recharge_amount_cents, 0 AS gift_amount_cents, 1 AS order_count " +
+            "  FROM orders WHERE create_time IS NOT NULL " +
+            "  UNION ALL " +
+            "  SELECT substr(create_time, 1, 10), 0, 0, recharge_amount_cents, gift_amount_cents, 0 " +
+            "  FROM recharge_record WHERE create_time IS NOT NULL" +
+            ") GROUP BY stat_date")
+    int rebuildAll();
+}
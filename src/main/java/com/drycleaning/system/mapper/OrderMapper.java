@@ -1,13 +1,15 @@
 package com.drycleaning.system.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
-import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.drycleaning.system.dto.CustomerRanking;
 import com.drycleaning.system.model.Order;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
 import java.util.List;
+import java.util.Map;
 
 @Mapper
 public interface OrderMapper extends BaseMapper<Order> {
@@ -15,25 +17,83 @@ public interface OrderMapper extends BaseMapper<Order> {
     @Select("SELECT * FROM orders WHERE customer_id = #{customer_id}")
     List<Order> findByCustomerId(@Param("customer_id") Long customerId);
 
-    @Select("SELECT * FROM orders WHERE customer_name LIKE CONCAT('%', #{customerName}, '%')")
+    /**
+     * 按客户姓名（包含匹配）查询订单，orders 表不保存客户姓名，需关联 customer 表
+     */
+    @Select("SELECT o.* FROM orders o JOIN customer c ON c.id = o.customer_id " +
+            "WHERE instr(c.name, #{customerName}) > 0 ORDER BY o.id")
     List<Order> findByCustomerNameContaining(@Param("customerName") String customerName);
 
     @Select("SELECT * FROM orders WHERE status = #{status}")
     List<Order> findByStatus(@Param("status") String status);
 
     /**
-     * 模糊搜索订单 - 支持订单号的多条件组合查询
-     * 注意：客户姓名和衣物类型的过滤在 Service 层进行内存过滤
+     * 查询创建时间在 [start, end) 内的订单（走 create_ts 索引）
+     * @param start 起始时间（含），epoch 毫秒
+     * @param end 结束时间（不含），epoch 毫秒
+     * @return 按创建时间升序的订单列表
+     */
+    @Select("SELECT * FROM orders WHERE create_ts >= #{start} AND create_ts < #{end} ORDER BY create_ts")
+    List<Order> findByCreateTs(@Param("start") long start, @Param("end") long end);
+
+    /**
+     * 按状态分组统计订单数
+     * @return 每行包含 status、count 两列
+     */
+    @Select("SELECT status, COUNT(*) AS count FROM orders GROUP BY status")
+    List<Map<String, Object>> countGroupByStatus();
+
+    /**
+     * 模糊搜索订单 - 支持订单号、客户姓名、手机号、衣物类型的多条件组合查询，一条 SQL 完成
+     * 客户姓名匹配姓名或拼音（与客户搜索一致）；衣物类型匹配该订单下任意一件衣物
+     * @param page 分页参数（为 null 时不分页）
      * @param orderNo 订单号关键词（可选）
-     * @return 匹配的订单列表（仅按订单号过滤）
+     * @param customerName 客户姓名关键词（可选）
+     * @param customerPinyin 小写的客户姓名关键词（customerName 不为 null 时必填）
+     * @param phone 客户手机号关键词（可选）
+     * @param clothesType 衣物类型关键词（可选）
+     * @return 按 id 升序的订单列表
+     */
+    @Select("<script>" +
+            "SELECT o.* FROM orders o" +
+            "<if test='customerName != null or phone != null'> JOIN customer c ON c.id = o.customer_id</if>" +
+            "<where>" +
+            "<if test='orderNo != null'> AND o.order_no LIKE '%' || #{orderNo} || '%'</if>" +
+            "<if test='customerName != null'> AND (instr(c.name, #{customerName}) > 0" +
+            " OR instr(c.name_pinyin_initials, #{customerPinyin}) > 0" +
+            " OR instr(c.name_pinyin_full, #{customerPinyin}) > 0)</if>" +
+            "<if test='phone != null'> AND instr(c.phone, #{phone}) > 0</if>" +
+            "<if test='clothesType != null'> AND EXISTS (SELECT 1 FROM clothes cl" +
+            " WHERE cl.order_id = o.order_no AND instr(cl.type, #{clothesType}) > 0)</if>" +
+            "</where>" +
+            " ORDER BY o.id" +
+            "</script>")
+    List<Order> fuzzySearch(IPage<Order> page,
+                            @Param("orderNo") String orderNo,
+                            @Param("customerName") String customerName,
+                            @Param("customerPinyin") String customerPinyin,
+                            @Param("phone") String phone,
+                            @Param("clothesType") String clothesType);
+
+    /**
+     * 按客户汇总区间内的订单，取前 k 名
+     * @param fromTs 创建时间下限（epoch 毫秒，包含，可为 null）
+     * @param toTs 创建时间上限（epoch 毫秒，不包含，可为 null）
+     * @param byCount 为 true 时按订单数排序，否则按订单金额合计排序
      */
-    default List<Order> fuzzySearch(@Param("orderNo") String orderNo) {
-        QueryWrapper<Order> queryWrapper = new QueryWrapper<>();
-        
-        if (orderNo != null && !orderNo.trim().isEmpty()) {
-            queryWrapper.like("order_no", orderNo.trim());
-        }
-        
-        return this.selectList(queryWrapper);
-    }
+    @Select("<script>" +
+            "SELECT o.customer_id, c.name AS customer_name, COUNT(*) AS count, SUM(o.total_price_cents) AS amount_cents" +
+            " FROM orders o LEFT JOIN customer c ON c.id = o.customer_id" +
+            " WHERE o.customer_id IS NOT NULL" +
+            "<if test='fromTs != null'> AND o.create_ts &gt;= #{fromTs}</if>" +
+            "<if test='toTs != null'> AND o.create_ts &lt; #{toTs}</if>" +
+            " GROUP BY o.customer_id" +
+            "<choose>" +
+            "<when test='byCount'> ORDER BY count DESC, amount_cents DESC</when>" +
+            "<otherwise> ORDER BY amount_cents DESC, count DESC</otherwise>" +
+            "</choose>" +
+            ", o.customer_id LIMIT #{k}" +
+            "</script>")
+    List<CustomerRanking> findTopCustomers(@Param("fromTs") Long fromTs, @Param("toTs") Long toTs,
+                                           @Param("byCount") boolean byCount, @Param("k") int k);
 }
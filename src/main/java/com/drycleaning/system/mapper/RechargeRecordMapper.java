@@ -1,6 +1,9 @@
 package com.drycleaning.system.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.drycleaning.system.dto.CustomerRanking;
+import com.drycleaning.system.dto.CustomerRechargeSummary;
+import com.drycleaning.system.dto.RechargeHistoryItem;
 import com.drycleaning.system.model.RechargeRecord;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -13,4 +16,61 @@ public interface RechargeRecordMapper extends BaseMapper<RechargeRecord> {
 
     @Select("SELECT * FROM recharge_record WHERE customer_id = #{customer_id}")
     List<RechargeRecord> findByCustomerId(@Param("customer_id") Long customerId);
+
+    /**
+     * 按 id 倒序查询充值记录及客户姓名（游标分页）
+     * @param fromTs 创建时间下限（epoch 毫秒，包含，可为 null）
+     * @param toTs 创建时间上限（epoch 毫秒，不包含，可为 null）
+     * @param cursor 只返回 id 小于该值的记录（可为 null）
+     */
+    @Select("<script>" +
+            "SELECT r.id, r.customer_id, c.name AS customer_name, r.recharge_amount_cents, r.gift_amount_cents," +
+            " r.create_time FROM recharge_record r LEFT JOIN customer c ON c.id = r.customer_id" +
+            "<where>" +
+            "<if test='fromTs != null'> AND r.create_ts &gt;= #{fromTs}</if>" +
+            "<if test='toTs != null'> AND r.create_ts &lt; #{toTs}</if>" +
+            "<if test='cursor != null'> AND r.id &lt; #{cursor}</if>" +
+            "</where>" +
+            " ORDER BY r.id DESC LIMIT #{limit}" +
+            "</script>")
+    List<RechargeHistoryItem> findHistory(@Param("fromTs") Long fromTs, @Param("toTs") Long toTs,
+                                          @Param("cursor") Long cursor, @Param("limit") int limit);
+
+    /**
+     * 按客户 id 倒序汇总充值记录（游标分页，沿 customer_id 索引分组）
+     * 最近一次充值时间取 MAX(create_ts) 所在行的 create_time（SQLite 对 MAX 聚合的裸列取值规则）
+     * @param cursor 只返回客户 id 小于该值的汇总（可为 null）
+     */
+    @Select("<script>" +
+            "SELECT r.customer_id, c.name AS customer_name, COUNT(*) AS recharge_count," +
+            " SUM(r.recharge_amount_cents) AS total_recharged_cents, SUM(r.gift_amount_cents) AS total_gift_cents," +
+            " MAX(r.create_ts) AS last_recharge_ts, r.create_time AS last_recharge_time" +
+            " FROM recharge_record r LEFT JOIN customer c ON c.id = r.customer_id" +
+            "<where>" +
+            "<if test='fromTs != null'> AND r.create_ts &gt;= #{fromTs}</if>" +
+            "<if test='toTs != null'> AND r.create_ts &lt; #{toTs}</if>" +
+            "<if test='cursor != null'> AND r.customer_id &lt; #{cursor}</if>" +
+            "</where>" +
+            " GROUP BY r.customer_id ORDER BY r.customer_id DESC LIMIT #{limit}" +
+            "</script>")
+    List<CustomerRechargeSummary> summarizeByCustomer(@Param("fromTs") Long fromTs, @Param("toTs") Long toTs,
+                                                      @Param("cursor") Long cursor, @Param("limit") int limit);
+
+    /**
+     * 按客户汇总区间内的充值金额（不含赠送），取前 k 名
+     * @param fromTs 创建时间下限（epoch 毫秒，包含，可为 null）
+     * @param toTs 创建时间上限（epoch 毫秒，不包含，可为 null）
+     */
+    @Select("<script>" +
+            "SELECT r.customer_id, c.name AS customer_name, COUNT(*) AS count," +
+            " SUM(r.recharge_amount_cents) AS amount_cents" +
+            " FROM recharge_record r LEFT JOIN customer c ON c.id = r.customer_id" +
+            "<where>" +
+            "<if test='fromTs != null'> AND r.create_ts &gt;= #{fromTs}</if>" +
+            "<if test='toTs != null'> AND r.create_ts &lt; #{toTs}</if>" +
+            "</where>" +
+            " GROUP BY r.customer_id ORDER BY amount_cents DESC, count DESC, r.customer_id LIMIT #{k}" +
+            "</script>")
+    List<CustomerRanking> findTopCustomers(@Param("fromTs") Long fromTs, @Param("toTs") Long toTs,
+                                           @Param("k") int k);
 }
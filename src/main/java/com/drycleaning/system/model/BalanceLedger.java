@@ -0,0 +1,148 @@
+package com.drycleaning.system.model;
+
+import com.baomidou.mybatisplus.annotation.*;
+import com.drycleaning.system.util.MoneyUtil;
+import com.drycleaning.system.util.TimeUtil;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * 余额流水（只追加，不修改、不删除）
+ * 每次余额变动记录一行：变动金额 delta 和变动后的余额 balanceAfter；
+ * 订单扣款记录订单号，充值记录充值记录 ID
+ */
+@TableName("balance_ledger")
+public class BalanceLedger {
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    @TableField("customer_id")
+    private Long customerId;
+
+    /**
+     * 变动金额（分），接口通过 delta 以元输出
+     */
+    @JsonIgnore
+    @TableField("delta_cents")
+    private Long deltaCents;
+
+    /**
+     * 变动后的余额（分），接口通过 balanceAfter 以元输出
+     */
+    @JsonIgnore
+    @TableField("balance_after_cents")
+    private Long balanceAfterCents;
+
+    /**
+     * 变动原因，取值为 LedgerReason 的名称
+     */
+    private String reason;
+
+    @TableField("order_no")
+    private String orderNo;
+
+    @TableField("recharge_record_id")
+    private Long rechargeRecordId;
+
+    @TableField("create_time")
+    private String createTime;
+
+    @JsonIgnore
+    @TableField("create_ts")
+    private Long createTs;
+
+    // Constructors
+    public BalanceLedger() {
+    }
+
+    public BalanceLedger(Long customerId, long deltaCents, long balanceAfterCents, String reason) {
+        this.customerId = customerId;
+        this.deltaCents = deltaCents;
+        this.balanceAfterCents = balanceAfterCents;
+        this.reason = reason;
+        java.time.LocalDateTime now = java.time.LocalDateTime.now();
+        this.createTime = now.toString();
+        this.createTs = TimeUtil.toEpochMilli(now);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public Long getDeltaCents() {
+        return deltaCents;
+    }
+
+    public void setDeltaCents(Long deltaCents) {
+        this.deltaCents = deltaCents;
+    }
+
+    public Double getDelta() {
+        return MoneyUtil.toYuan(deltaCents);
+    }
+
+    public Long getBalanceAfterCents() {
+        return balanceAfterCents;
+    }
+
+    public void setBalanceAfterCents(Long balanceAfterCents) {
+        this.balanceAfterCents = balanceAfterCents;
+    }
+
+    public Double getBalanceAfter() {
+        return MoneyUtil.toYuan(balanceAfterCents);
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public String getOrderNo() {
+        return orderNo;
+    }
+
+    public void setOrderNo(String orderNo) {
+        this.orderNo = orderNo;
+    }
+
+    public Long getRechargeRecordId() {
+        return rechargeRecordId;
+    }
+
+    public void setRechargeRecordId(Long rechargeRecordId) {
+        this.rechargeRecordId = rechargeRecordId;
+    }
+
+    public String getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(String createTime) {
+        this.createTime = createTime;
+    }
+
+    public Long getCreateTs() {
+        return createTs;
+    }
+
+    public void setCreateTs(Long createTs) {
+        this.createTs = createTs;
+    }
+}
@@ -1,6 +1,9 @@
 package com.drycleaning.system.model;
 
 import com.baomidou.mybatisplus.annotation.*;
+import com.drycleaning.system.util.MoneyUtil;
+import com.drycleaning.system.util.TimeUtil;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @TableName("clothes")
 public class Clothes {
@@ -14,8 +17,12 @@ public class Clothes {
     @TableField("type")
     private String type;
 
-    @TableField("price")
-    private Double price;
+    /**
+     * 价格，以分存储；接口通过 price 以元输入输出
+     */
+    @JsonIgnore
+    @TableField("price_cents")
+    private Long priceCents;
 
     @TableField("damage_remark")
     private String damageRemark;
@@ -29,6 +36,13 @@ public class Clothes {
     @TableField("create_time")
     private String createTime;
 
+    /**
+     * 创建时间的 epoch 毫秒，用于区间查询；接口仍返回 createTime 字符串
+     */
+    @JsonIgnore
+    @TableField("create_ts")
+    private Long createTs;
+
     // Constructors
     public Clothes() {
     }
@@ -36,11 +50,13 @@ public class Clothes {
     public Clothes(String orderId, String type, Double price, String damageRemark, String damageImage, String status) {
         this.orderId = orderId;
         this.type = type;
-        this.price = price;
+        this.priceCents = MoneyUtil.toCents(price);
         this.damageRemark = damageRemark;
         this.damageImage = damageImage;
         this.status = status;
-        this.createTime = java.time.LocalDateTime.now().toString();
+        java.time.LocalDateTime now = java.time.LocalDateTime.now();
+        this.createTime = now.toString();
+        this.createTs = TimeUtil.toEpochMilli(now);
     }
 
     // Getters and Setters
@@ -68,12 +84,20 @@ public class Clothes {
         this.type = type;
     }
 
+    public Long getPriceCents() {
+        return priceCents;
+    }
+
+    public void setPriceCents(Long priceCents) {
+        this.priceCents = priceCents;
+    }
+
     public Double getPrice() {
-        return price;
+        return MoneyUtil.toYuan(priceCents);
     }
 
     public void setPrice(Double price) {
-        this.price = price;
+        this.priceCents = MoneyUtil.toCents(price);
     }
 
     public String getDamageRemark() {
@@ -107,4 +131,12 @@ public class Clothes {
     public void setCreateTime(String createTime) {
         this.createTime = createTime;
     }
+
+    public Long getCreateTs() {
+        return createTs;
+    }
+
+    public void setCreateTs(Long createTs) {
+        this.createTs = createTs;
+    }
 }
@@ -1,6 +1,9 @@
 package com.drycleaning.system.model;
 
 import com.baomidou.mybatisplus.annotation.*;
+import com.drycleaning.system.util.MoneyUtil;
+import com.drycleaning.system.util.TimeUtil;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @TableName("customer")
 public class Customer {
@@ -11,18 +14,43 @@ public class Customer {
     @TableField("name")
     private String name;
 
+    /**
+     * 姓名拼音首字母（小写），写入时计算，用于拼音搜索
+     */
+    @JsonIgnore
+    @TableField("name_pinyin_initials")
+    private String namePinyinInitials;
+
+    /**
+     * 姓名完整拼音（小写），写入时计算，用于拼音搜索
+     */
+    @JsonIgnore
+    @TableField("name_pinyin_full")
+    private String namePinyinFull;
+
     @TableField("phone")
     private String phone;
 
     @TableField("wechat")
     private String wechat;
 
-    @TableField("balance")
-    private Double balance;
+    /**
+     * 储值余额，以分存储；接口通过 balance 以元输入输出
+     */
+    @JsonIgnore
+    @TableField("balance_cents")
+    private Long balanceCents;
 
     @TableField("create_time")
     private String createTime;
 
+    /**
+     * 创建时间的 epoch 毫秒，用于区间查询；接口仍返回 createTime 字符串
+     */
+    @JsonIgnore
+    @TableField("create_ts")
+    private Long createTs;
+
     // Constructors
     public Customer() {
     }
@@ -31,8 +59,10 @@ public class Customer {
         this.name = name;
         this.phone = phone;
         this.wechat = wechat;
-        this.balance = balance;
-        this.createTime = java.time.LocalDateTime.now().toString();
+        this.balanceCents = MoneyUtil.toCents(balance);
+        java.time.LocalDateTime now = java.time.LocalDateTime.now();
+        this.createTime = now.toString();
+        this.createTs = TimeUtil.toEpochMilli(now);
     }
 
     // Getters and Setters
@@ -52,6 +82,22 @@ public class Customer {
         this.name = name;
     }
 
+    public String getNamePinyinInitials() {
+        return namePinyinInitials;
+    }
+
+    public void setNamePinyinInitials(String namePinyinInitials) {
+        this.namePinyinInitials = namePinyinInitials;
+    }
+
+    public String getNamePinyinFull() {
+        return namePinyinFull;
+    }
+
+    public void setNamePinyinFull(String namePinyinFull) {
+        this.namePinyinFull = namePinyinFull;
+    }
+
     public String getPhone() {
         return phone;
     }
@@ -68,12 +114,20 @@ public class Customer {
         this.wechat = wechat;
     }
 
+    public Long getBalanceCents() {
+        return balanceCents;
+    }
+
+    public void setBalanceCents(Long balanceCents) {
+        this.balanceCents = balanceCents;
+    }
+
     public Double getBalance() {
-        return balance;
+        return MoneyUtil.toYuan(balanceCents);
     }
 
     public void setBalance(Double balance) {
-        this.balance = balance;
+        this.balanceCents = MoneyUtil.toCents(balance);
     }
 
     public String getCreateTime() {
@@ -83,4 +137,12 @@ public class Customer {
     public void setCreateTime(String createTime) {
         this.createTime = createTime;
     }
+
+    public Long getCreateTs() {
+        return createTs;
+    }
+
+    public void setCreateTs(Long createTs) {
+        this.createTs = createTs;
+    }
 }
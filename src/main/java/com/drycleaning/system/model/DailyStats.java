@@ -0,0 +1,86 @@
+package com.drycleaning.system.model;
+
+import com.baomidou.mybatisplus.annotation.*;
+
+/**
+ * 每日统计汇总（按 create_time 的日期部分聚合），金额均以分为单位
+ */
+@TableName("daily_stats")
+public class DailyStats {
+
+    @TableId(value = "stat_date", type = IdType.INPUT)
+    private String statDate;
+
+    @TableField("cash_income_cents")
+    private long cashIncomeCents;
+
+    @TableField("prepaid_volume_cents")
+    private long prepaidVolumeCents;
+
+    @TableField("recharge_amount_cents")
+    private long rechargeAmountCents;
+
+    @TableField("gift_amount_cents")
+    private long giftAmountCents;
+
+    @TableField("order_count")
+    private Long orderCount;
+
+    // Constructors
+    public DailyStats() {
+    }
+
+    public DailyStats(String statDate) {
+        this.statDate = statDate;
+        this.orderCount = 0L;
+    }
+
+    // Getters and Setters
+    public String getStatDate() {
+        return statDate;
+    }
+
+    public void setStatDate(String statDate) {
+        this.statDate = statDate;
+    }
+
+    public long getCashIncomeCents() {
+        return cashIncomeCents;
+    }
+
+    public void setCashIncomeCents(long cashIncomeCents) {
+        this.cashIncomeCents = cashIncomeCents;
+    }
+
+    public long getPrepaidVolumeCents() {
+        return prepaidVolumeCents;
+    }
+
+    public void setPrepaidVolumeCents(long prepaidVolumeCents) {
+        this.prepaidVolumeCents = prepaidVolumeCents;
+    }
+
+    public long getRechargeAmountCents() {
+        return rechargeAmountCents;
+    }
+
+    public void setRechargeAmountCents(long rechargeAmountCents) {
+        this.rechargeAmountCents = rechargeAmountCents;
+    }
+
+    public long getGiftAmountCents() {
+        return giftAmountCents;
+    }
+
+    public void setGiftAmountCents(long giftAmountCents) {
+        this.giftAmountCents = giftAmountCents;
+    }
+
+    public Long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(Long orderCount) {
+        this.orderCount = orderCount;
+    }
+}
@@ -1,6 +1,9 @@
 package com.drycleaning.system.model;
 
 import com.baomidou.mybatisplus.annotation.*;
+import com.drycleaning.system.util.MoneyUtil;
+import com.drycleaning.system.util.TimeUtil;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @TableName("orders")
 public class Order {
@@ -14,11 +17,19 @@ public class Order {
     @TableField("customer_id")
     private Long customerId;
 
-    @TableField("total_price")
-    private Double totalPrice;
+    /**
+     * 订单金额，以分存储；接口通过 totalPrice 以元输入输出
+     */
+    @JsonIgnore
+    @TableField("total_price_cents")
+    private Long totalPriceCents;
 
-    @TableField("prepaid")
-    private Double prepaid;
+    /**
+     * 预付金额，以分存储；接口通过 prepaid 以元输入输出
+     */
+    @JsonIgnore
+    @TableField("prepaid_cents")
+    private Long prepaidCents;
 
     @TableField("pay_type")
     private String payType;
@@ -35,6 +46,13 @@ public class Order {
     @TableField("create_time")
     private String createTime;
 
+    /**
+     * 创建时间的 epoch 毫秒，用于区间查询；接口仍返回 createTime 字符串
+     */
+    @JsonIgnore
+    @TableField("create_ts")
+    private Long createTs;
+
     // Constructors
     public Order() {
     }
@@ -42,13 +60,15 @@ public class Order {
     public Order(String orderNo, Long customerId, Double totalPrice, Double prepaid, String payType, Integer urgent, String status, String expectedTime) {
         this.orderNo = orderNo;
         this.customerId = customerId;
-        this.totalPrice = totalPrice;
-        this.prepaid = prepaid;
+        this.totalPriceCents = MoneyUtil.toCents(totalPrice);
+        this.prepaidCents = MoneyUtil.toCents(prepaid);
         this.payType = payType;
         this.urgent = urgent;
         this.status = status;
         this.expectedTime = expectedTime;
-        this.createTime = java.time.LocalDateTime.now().toString();
+        java.time.LocalDateTime now = java.time.LocalDateTime.now();
+        this.createTime = now.toString();
+        this.createTs = TimeUtil.toEpochMilli(now);
     }
 
     // Getters and Setters
@@ -76,20 +96,36 @@ public class Order {
         this.customerId = customerId;
     }
 
+    public Long getTotalPriceCents() {
+        return totalPriceCents;
+    }
+
+    public void setTotalPriceCents(Long totalPriceCents) {
+        this.totalPriceCents = totalPriceCents;
+    }
+
     public Double getTotalPrice() {
-        return totalPrice;
+        return MoneyUtil.toYuan(totalPriceCents);
     }
 
     public void setTotalPrice(Double totalPrice) {
-        this.totalPrice = totalPrice;
+        this.totalPriceCents = MoneyUtil.toCents(totalPrice);
+    }
+
+    public Long getPrepaidCents() {
+        return prepaidCents;
+    }
+
+    public void setPrepaidCents(Long prepaidCents) {
+        this.prepaidCents = prepaidCents;
     }
 
     public Double getPrepaid() {
-        return prepaid;
+        return MoneyUtil.toYuan(prepaidCents);
     }
 
     public void setPrepaid(Double prepaid) {
-        this.prepaid = prepaid;
+        this.prepaidCents = MoneyUtil.toCents(prepaid);
     }
 
     public String getPayType() {
@@ -131,4 +167,12 @@ public class Order {
     public void setCreateTime(String createTime) {
         this.createTime = createTime;
     }
+
+    public Long getCreateTs() {
+        return createTs;
+    }
+
+    public void setCreateTs(Long createTs) {
+        this.createTs = createTs;
+    }
 }
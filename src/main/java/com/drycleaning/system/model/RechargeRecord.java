@@ -1,6 +1,9 @@
 package com.drycleaning.system.model;
 
 import com.baomidou.mybatisplus.annotation.*;
+import com.drycleaning.system.util.MoneyUtil;
+import com.drycleaning.system.util.TimeUtil;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @TableName("recharge_record")
 public class RechargeRecord {
@@ -11,24 +14,41 @@ public class RechargeRecord {
     @TableField("customer_id")
     private Long customerId;
 
-    @TableField("recharge_amount")
-    private Double rechargeAmount;
+    /**
+     * 充值金额，以分存储；接口通过 rechargeAmount 以元输入输出
+     */
+    @JsonIgnore
+    @TableField("recharge_amount_cents")
+    private Long rechargeAmountCents;
 
-    @TableField("gift_amount")
-    private Double giftAmount;
+    /**
+     * 赠送金额，以分存储；接口通过 giftAmount 以元输入输出
+     */
+    @JsonIgnore
+    @TableField("gift_amount_cents")
+    private Long giftAmountCents;
 
     @TableField("create_time")
     private String createTime;
 
+    /**
+     * 创建时间的 epoch 毫秒，用于区间查询；接口仍返回 createTime 字符串
+     */
+    @JsonIgnore
+    @TableField("create_ts")
+    private Long createTs;
+
     // Constructors
     public RechargeRecord() {
     }
 
     public RechargeRecord(Long customerId, Double rechargeAmount, Double giftAmount) {
         this.customerId = customerId;
-        this.rechargeAmount = rechargeAmount;
-        this.giftAmount = giftAmount;
-        this.createTime = java.time.LocalDateTime.now().toString();
+        this.rechargeAmountCents = MoneyUtil.toCents(rechargeAmount);
+        this.giftAmountCents = MoneyUtil.toCents(giftAmount);
+        java.time.LocalDateTime now = java.time.LocalDateTime.now();
+        this.createTime = now.toString();
+        this.createTs = TimeUtil.toEpochMilli(now);
     }
 
     // Getters and Setters
@@ -48,20 +68,36 @@ public class RechargeRecord {
         this.customerId = customerId;
     }
 
+    public Long getRechargeAmountCents() {
+        return rechargeAmountCents;
+    }
+
+    public void setRechargeAmountCents(Long rechargeAmountCents) {
+        this.rechargeAmountCents = rechargeAmountCents;
+    }
+
     public Double getRechargeAmount() {
-        return rechargeAmount;
+        return MoneyUtil.toYuan(rechargeAmountCents);
     }
 
     public void setRechargeAmount(Double rechargeAmount) {
-        this.rechargeAmount = rechargeAmount;
+        this.rechargeAmountCents = MoneyUtil.toCents(rechargeAmount);
+    }
+
+    public Long getGiftAmountCents() {
+        return giftAmountCents;
+    }
+
+    public void setGiftAmountCents(Long giftAmountCents) {
+        this.giftAmountCents = giftAmountCents;
     }
 
     public Double getGiftAmount() {
-        return giftAmount;
+        return MoneyUtil.toYuan(giftAmountCents);
     }
 
     public void setGiftAmount(Double giftAmount) {
-        this.giftAmount = giftAmount;
+        this.giftAmountCents = MoneyUtil.toCents(giftAmount);
     }
 
     public String getCreateTime() {
@@ -71,4 +107,12 @@ public class RechargeRecord {
     public void setCreateTime(String createTime) {
         this.createTime = createTime;
     }
+
+    public Long getCreateTs() {
+        return createTs;
+    }
+
+    public void setCreateTs(Long createTs) {
+        this.createTs = createTs;
+    }
 }
@@ -0,0 +1,53 @@
+package com.drycleaning.system.service;
+
+import com.drycleaning.system.dto.BalanceStatement;
+import com.drycleaning.system.dto.ReconciliationReport;
+import com.drycleaning.system.model.BalanceLedger;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface BalanceLedgerService {
+
+    /**
+     * 追加一条流水，应与余额的修改在同一事务中调用
+     */
+    void append(BalanceLedger entry);
+
+    /**
+     * 流水表为空时（首次升级），为已有余额的客户写入期初流水
+     * @return 写入的流水数
+     */
+    int createOpeningEntriesIfEmpty();
+
+    /**
+     * 客户储值对账单
+     * @param customerId 客户 ID
+     * @param from 开始日期（可选，包含）
+     * @param to 结束日期（可选，包含）
+     * @return 区间内的流水及期初、期末余额
+     */
+    BalanceStatement getStatement(Long customerId, LocalDate from, LocalDate to);
+
+    /**
+     * 按最近一次快照和之后的流水计算客户余额（分）
+     */
+    long getLedgerBalanceCents(Long customerId);
+
+    /**
+     * 为有新流水的客户生成余额快照（定时执行）
+     * @return 更新的快照数
+     */
+    int takeSnapshots();
+
+    /**
+     * 按客户 id 分段并行对账，校验每个客户的余额与流水一致（定时执行）
+     * @return 对账结果，不一致的客户列在 mismatches 中
+     */
+    ReconciliationReport reconcile();
+
+    /**
+     * 最近一次对账结果（本次启动后尚未对账时为空）
+     */
+    Optional<ReconciliationReport> getLastReconciliation();
+}
@@ -1,5 +1,6 @@
 package com.drycleaning.system.service;
 
+import com.drycleaning.system.dto.CursorPage;
 import com.drycleaning.system.model.Clothes;
 
 import java.util.List;
@@ -7,12 +8,21 @@ import java.util.Optional;
 
 public interface ClothesService {
     List<Clothes> getAllClothes();
+
+    /**
+     * 游标分页查询衣物（按 id 倒序）
+     * @param cursor 上一页返回的 nextCursor（可选）
+     * @param limit 每页条数
+     * @param fields 逗号分隔的属性名（可选），只查询这些列
+     * @return 当前页数据和下一页游标
+     */
+    CursorPage<Clothes> getClothesPage(Long cursor, int limit, String fields);
     Optional<Clothes> getClothesById(Long id);
     List<Clothes> getClothesByOrderId(String orderId);
     List<Clothes> getClothesByStatus(String status);
     Clothes createClothes(Clothes clothes);
     Clothes updateClothes(Long id, Clothes clothesDetails);
     void deleteClothes(Long id);
-    Clothes updateClothesPrice(Long id, Double newPrice);
+    Clothes updateClothesPrice(Long id, long newPriceCents);
     Clothes updateClothesStatus(Long id, String newStatus);
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.drycleaning.system.service;
 
+import com.drycleaning.system.dto.CursorPage;
+import com.drycleaning.system.enums.LedgerReason;
 import com.drycleaning.system.model.Customer;
 
 import java.util.List;
@@ -7,13 +9,54 @@ import java.util.Optional;
 
 public interface CustomerService {
     List<Customer> getAllCustomers();
+
+    /**
+     * 游标分页查询客户（按 id 倒序）
+     * @param cursor 上一页返回的 nextCursor（可选）
+     * @param limit 每页条数
+     * @param fields 逗号分隔的属性名（可选），只查询这些列
+     * @return 当前页数据和下一页游标
+     */
+    CursorPage<Customer> getCustomersPage(Long cursor, int limit, String fields);
+
+    /**
+     * 按 id 批量查询客户（不存在的 id 忽略）
+     * @throws IllegalArgumentException 当 id 超过 500 个时抛出
+     */
+    List<Customer> getCustomersByIds(List<Long> ids);
     Optional<Customer> getCustomerById(Long id);
     Optional<Customer> getCustomerByName(String name);
     Optional<Customer> getCustomerByPhone(String phone);
     Customer createCustomer(Customer customer);
     Customer updateCustomer(Long id, Customer customerDetails);
     void deleteCustomer(Long id);
-    Customer updateCustomerBalance(Long id, Double newBalance);
+    /**
+     * 直接设置客户余额，按差额记录一条调整流水
+     * @param newBalanceCents 新余额（分）
+     */
+    Customer updateCustomerBalance(Long id, long newBalanceCents);
+
+    /**
+     * 扣减客户余额（单条条件 UPDATE，并发扣款不会丢失更新或扣成负数），同一事务中写入余额流水
+     * @param customerId 客户 ID
+     * @param amountCents 扣减金额（分，必须大于 0）
+     * @param reason 流水原因
+     * @param orderNo 关联的订单号（可选）
+     * @return 扣减后的余额（分）
+     * @throws IllegalArgumentException 当金额不合法、客户不存在或余额不足时抛出
+     */
+    long debit(Long customerId, long amountCents, LedgerReason reason, String orderNo);
+
+    /**
+     * 增加客户余额（单条 UPDATE），同一事务中写入余额流水
+     * @param customerId 客户 ID
+     * @param amountCents 增加金额（分，必须大于 0）
+     * @param reason 流水原因
+     * @param rechargeRecordId 关联的充值记录 ID（可选）
+     * @return 增加后的余额（分）
+     * @throws IllegalArgumentException 当金额不合法或客户不存在时抛出
+     */
+    long credit(Long customerId, long amountCents, LedgerReason reason, Long rechargeRecordId);
     
     /**
      * 模糊搜索客户
@@ -27,25 +70,27 @@ public interface CustomerService {
     /**
      * 按姓名或拼音搜索客户（支持拼音首字母和全拼）
      * @param keyword 姓名、拼音首字母或全拼
+     * @param limit 最多返回的客户数
      * @return 匹配的客户列表
      */
-    List<Customer> searchByNameOrPinyin(String keyword);
+    List<Customer> searchByNameOrPinyin(String keyword, int limit);
     
     /**
      * 模糊搜索客户（支持拼音匹配）
      * @param name 姓名关键词（可选，支持拼音）
      * @param phone 手机号关键词（可选）
      * @param note 备注关键词（可选）
+     * @param limit 最多返回的客户数
      * @return 匹配的客户列表
      */
-    List<Customer> fuzzySearchWithPinyin(String name, String phone, String note);
+    List<Customer> fuzzySearchWithPinyin(String name, String phone, String note, int limit);
 
     /**
      * 创建客户并可选初始充值
      * @param customer 客户基本信息
-     * @param rechargeAmount 充值金额（可选，必须为 100 的整数倍）
+     * @param rechargeAmountCents 充值金额（分，可选，必须为 100 元的整数倍）
      * @return 创建后的客户
-     * @throws IllegalArgumentException 当充值金额不是 100 的整数倍时抛出
+     * @throws IllegalArgumentException 当充值金额不是 100 元的整数倍时抛出
      */
-    Customer createCustomerWithRecharge(Customer customer, Double rechargeAmount);
+    Customer createCustomerWithRecharge(Customer customer, Long rechargeAmountCents);
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.drycleaning.system.service;
+
+import com.drycleaning.system.model.DailyStats;
+import com.drycleaning.system.model.Order;
+import com.drycleaning.system.model.RechargeRecord;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyStatsService {
+
+    /**
+     * 将新订单计入所在日期的汇总（需与订单写入处于同一事务）
+     */
+    void recordOrder(Order order);
+
+    /**
+     * 从所在日期的汇总中扣除订单（订单删除或修改前调用）
+     */
+    void revertOrder(Order order);
+
+    /**
+     * 将充值记录计入所在日期的汇总
+     */
+    void recordRechargeRecord(RechargeRecord record);
+
+    /**
+     * 从所在日期的汇总中扣除充值记录
+     */
+    void revertRechargeRecord(RechargeRecord record);
+
+    /**
+     * 获取某一天的汇总，没有数据时返回全 0 的汇总
+     */
+    DailyStats getDailyStats(LocalDate date);
+
+    /**
+     * 合计日期区间 [start, end) 的汇总
+     */
+    DailyStats sumBetween(LocalDate start, LocalDate end);
+
+    /**
+     * 获取日期区间 [start, end) 内有数据的每日汇总（按日期升序，无数据的日期不返回）
+     */
+    List<DailyStats> findBetween(LocalDate start, LocalDate end);
+
+    /**
+     * 汇总表为空时从订单表和充值记录表全量重建（用于首次升级）
+     */
+    void rebuildIfEmpty();
+}
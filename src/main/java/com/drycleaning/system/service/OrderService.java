@@ -1,17 +1,53 @@
 package com.drycleaning.system.service;
 
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.drycleaning.system.dto.CursorPage;
+import com.drycleaning.system.dto.OrderWithClothes;
+import com.drycleaning.system.model.Clothes;
 import com.drycleaning.system.model.Order;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 public interface OrderService {
     List<Order> getAllOrders();
+
+    /**
+     * 游标分页查询订单（按 id 倒序）
+     * @param cursor 上一页返回的 nextCursor（可选）
+     * @param limit 每页条数
+     * @param fields 逗号分隔的属性名（可选），只查询这些列
+     * @return 当前页数据和下一页游标
+     */
+    CursorPage<Order> getOrdersPage(Long cursor, int limit, String fields);
     Optional<Order> getOrderById(Long id);
     List<Order> getOrdersByCustomerId(Long customerId);
     List<Order> getOrdersByCustomerName(String customerName);
     List<Order> getOrdersByStatus(String status);
+
+    /**
+     * 查询日期区间内创建的订单
+     * @param from 起始日期（含）
+     * @param to 结束日期（含）
+     * @return 按创建时间升序的订单列表
+     */
+    List<Order> getOrdersByCreateDate(LocalDate from, LocalDate to);
+
+    /**
+     * 创建订单，储值支付时在同一事务中扣除客户余额
+     * @throws IllegalArgumentException 当储值余额不足或客户不存在时抛出
+     */
     Order createOrder(Order order);
+
+    /**
+     * 在一个事务中创建订单及其全部衣物，储值支付时同时扣除客户余额
+     * @param order 订单（订单号、客户 ID、金额必填）
+     * @param clothes 衣物列表（至少一件，orderId 由订单号填充）
+     * @return 创建后的订单及衣物
+     * @throws IllegalArgumentException 当参数不合法、订单号重复或储值余额不足时抛出
+     */
+    OrderWithClothes createOrderWithClothes(Order order, List<Clothes> clothes);
     Order updateOrder(Long id, Order orderDetails);
     void deleteOrder(Long id);
     Order updateOrderStatus(Long id, String newStatus);
@@ -19,9 +55,23 @@ public interface OrderService {
     /**
      * 模糊搜索订单
      * @param orderNo 订单号关键词（可选）
-     * @param customerName 客户姓名关键词（可选）
+     * @param customerName 客户姓名或拼音关键词（可选）
+     * @param phone 客户手机号关键词（可选）
      * @param clothesType 衣物类型关键词（可选）
      * @return 匹配的订单列表
      */
-    List<Order> fuzzySearch(String orderNo, String customerName, String clothesType);
+    List<Order> fuzzySearch(String orderNo, String customerName, String phone, String clothesType);
+
+    /**
+     * 分页模糊搜索订单
+     * @param orderNo 订单号关键词（可选）
+     * @param customerName 客户姓名或拼音关键词（可选）
+     * @param phone 客户手机号关键词（可选）
+     * @param clothesType 衣物类型关键词（可选）
+     * @param page 页码（从 1 开始）
+     * @param size 每页条数
+     * @return 当前页订单及总数
+     */
+    IPage<Order> fuzzySearch(String orderNo, String customerName, String phone, String clothesType,
+                             long page, long size);
 }
\ No newline at end of file
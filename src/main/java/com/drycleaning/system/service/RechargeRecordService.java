@@ -1,7 +1,11 @@
 package com.drycleaning.system.service;
 
+import com.drycleaning.system.dto.CursorPage;
+import com.drycleaning.system.dto.CustomerRechargeSummary;
+import com.drycleaning.system.dto.RechargeHistoryItem;
 import com.drycleaning.system.model.RechargeRecord;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,6 +13,32 @@ public interface RechargeRecordService {
     List<RechargeRecord> getAllRechargeRecords();
     Optional<RechargeRecord> getRechargeRecordById(Long id);
     List<RechargeRecord> getRechargeRecordsByCustomerId(Long customerId);
+
+    /**
+     * 充值记录及客户姓名，按 id 倒序游标分页（一次联表查询）
+     * @param from 开始日期（可选，包含）
+     * @param to 结束日期（可选，包含）
+     * @param cursor 上一页返回的 nextCursor（可选）
+     * @param limit 每页条数（1 ~ KeysetPagination.MAX_LIMIT）
+     * @throws IllegalArgumentException 当 limit 超出范围或开始日期晚于结束日期时抛出
+     */
+    CursorPage<RechargeHistoryItem> getRechargeHistory(LocalDate from, LocalDate to, Long cursor, int limit);
+
+    /**
+     * 按客户汇总区间内的充值（次数、充值合计、赠送合计、最近一次充值时间），按客户 id 倒序游标分页
+     * 参数与 getRechargeHistory 相同，cursor 为客户 id
+     */
+    CursorPage<CustomerRechargeSummary> getRechargeSummary(LocalDate from, LocalDate to, Long cursor, int limit);
     RechargeRecord createRechargeRecord(RechargeRecord rechargeRecord);
+
+    /**
+     * 充值：创建充值记录并增加客户余额（含赠送金额），同一事务中写入余额流水
+     * @param customerId 客户 ID
+     * @param amountCents 充值金额（分）
+     * @param giftCents 赠送金额（分）
+     * @return 充值后的余额（分）
+     * @throws IllegalArgumentException 当金额不合法或客户不存在时抛出
+     */
+    long recharge(Long customerId, long amountCents, long giftCents);
     void deleteRechargeRecord(Long id);
 }
\ No newline at end of file
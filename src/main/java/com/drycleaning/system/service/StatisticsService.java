@@ -1,6 +1,9 @@
 package com.drycleaning.system.service;
 
+import com.drycleaning.system.dto.CustomerRanking;
+
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 public interface StatisticsService {
@@ -9,7 +12,41 @@ public interface StatisticsService {
     Double getCashIncome(LocalDate date);
     Double getPrepaidIncome(LocalDate date);
     Long getUnfinishedOrderCount();
+
+    /**
+     * 各状态的订单数
+     * @return 状态 -> 订单数（状态为空的订单计入 UNKNOWN）
+     */
+    Map<String, Long> getOrderCountByStatus();
     Long getTodayOrderCount(LocalDate date);
     Map<String, Object> getDailyStatistics(LocalDate date);
+
+    /**
+     * 仪表板所需的全部统计（当日收入、订单数、未完成订单数、客户总数）
+     * @param date 统计日期
+     * @return 统计结果
+     */
+    Map<String, Object> getDashboardStatistics(LocalDate date);
     Map<String, Object> getMonthlyStatistics(int year, int month);
-}
\ No newline at end of file
+
+    /**
+     * 按时间粒度分桶的统计序列（连续数组，无数据的桶为 0）
+     * @param from 起始日期（含）
+     * @param to 结束日期（含）
+     * @param granularity 粒度：day、week（周一为一周开始）或 month
+     * @return 每个桶的标签、收入、现金收入、充值金额、订单数
+     * @throws IllegalArgumentException 当日期区间或粒度不合法时抛出
+     */
+    Map<String, Object> getSeries(LocalDate from, LocalDate to, String granularity);
+
+    /**
+     * 客户排行榜（分组汇总在 SQL 中完成，只返回前 k 名）
+     * @param from 起始日期（可选，含）
+     * @param to 结束日期（可选，含）
+     * @param by 排行依据：spend（订单金额，默认）、orders（订单数）或 recharge（充值金额）
+     * @param k 名次数（1 ~ 100）
+     * @return 按名次排列的客户
+     * @throws IllegalArgumentException 当日期区间、排行依据或 k 不合法时抛出
+     */
+    List<CustomerRanking> getTopCustomers(LocalDate from, LocalDate to, String by, int k);
+}
@@ -0,0 +1,175 @@
+package com.drycleaning.system.service.impl;
+
+import com.drycleaning.system.dto.BalanceMismatch;
+import com.drycleaning.system.dto.BalanceStatement;
+import com.drycleaning.system.dto.ReconciliationReport;
+import com.drycleaning.system.mapper.BalanceLedgerMapper;
+import com.drycleaning.system.mapper.CustomerMapper;
+import com.drycleaning.system.model.BalanceLedger;
+import com.drycleaning.system.service.BalanceLedgerService;
+import com.drycleaning.system.util.MoneyUtil;
+import com.drycleaning.system.util.TimeUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Service
+public class BalanceLedgerServiceImpl implements BalanceLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceLedgerServiceImpl.class);
+
+    /**
+     * 对账时每个任务负责的客户 id 区间长度
+     */
+    private static final long RECONCILE_CHUNK = 1000;
+
+    @Autowired
+    private BalanceLedgerMapper balanceLedgerMapper;
+
+    @Autowired
+    private CustomerMapper customerMapper;
+
+    @Value("${ledger.reconcile-threads:4}")
+    private int reconcileThreads;
+
+    private volatile ReconciliationReport lastReconciliation;
+
+    @Override
+    public void append(BalanceLedger entry) {
+        balanceLedgerMapper.insert(entry);
+    }
+
+    @Override
+    @Transactional
+    public int createOpeningEntriesIfEmpty() {
+        if (balanceLedgerMapper.hasEntries()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int inserted = balanceLedgerMapper.insertOpeningEntries(now.toString(), TimeUtil.toEpochMilli(now));
+        if (inserted > 0) {
+            logger.info("Created opening balance ledger entries for {} customers", inserted);
+        }
+        return inserted;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BalanceStatement getStatement(Long customerId, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("开始日期不能晚于结束日期");
+        }
+        long fromTs = from != null ? TimeUtil.startOfDay(from) : Long.MIN_VALUE;
+        long toTs = to != null ? TimeUtil.startOfDay(to.plusDays(1)) : Long.MAX_VALUE;
+
+        Long opening = balanceLedgerMapper.findBalanceBefore(customerId, fromTs);
+        List<BalanceLedger> entries = balanceLedgerMapper.findByCustomerBetween(customerId, fromTs, toTs);
+
+        long openingBalance = opening != null ? opening : 0;
+        long closingBalance = openingBalance;
+        long totalCredit = 0;
+        long totalDebit = 0;
+        for (BalanceLedger entry : entries) {
+            long delta = entry.getDeltaCents();
+            if (delta >= 0) {
+                totalCredit += delta;
+            } else {
+                totalDebit -= delta;
+            }
+            closingBalance = entry.getBalanceAfterCents();
+        }
+
+        BalanceStatement statement = new BalanceStatement();
+        statement.setCustomerId(customerId);
+        statement.setFrom(from != null ? from.toString() : null);
+        statement.setTo(to != null ? to.toString() : null);
+        statement.setOpeningBalance(MoneyUtil.toYuan(openingBalance));
+        statement.setClosingBalance(MoneyUtil.toYuan(closingBalance));
+        statement.setTotalCredit(MoneyUtil.toYuan(totalCredit));
+        statement.setTotalDebit(MoneyUtil.toYuan(totalDebit));
+        statement.setEntries(entries);
+        return statement;
+    }
+
+    @Override
+    public long getLedgerBalanceCents(Long customerId) {
+        return balanceLedgerMapper.computeBalance(customerId);
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${ledger.snapshot-interval-ms:3600000}",
+            fixedDelayString = "${ledger.snapshot-interval-ms:3600000}")
+    @Transactional
+    public int takeSnapshots() {
+        int updated = balanceLedgerMapper.takeSnapshots(LocalDateTime.now().toString());
+        if (updated > 0) {
+            logger.info("Took balance snapshots for {} customers", updated);
+        }
+        return updated;
+    }
+
+    @Override
+    @Scheduled(cron = "${ledger.reconcile-cron:0 30 3 * * *}")
+    public ReconciliationReport reconcile() {
+        LocalDateTime startTime = LocalDateTime.now();
+        long begin = System.nanoTime();
+        long maxId = balanceLedgerMapper.maxCustomerId();
+
+        // 每个区间一条查询，客户余额和流水在同一条语句中读取，看到的是同一个一致的快照
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, reconcileThreads));
+        List<BalanceMismatch> mismatches = new ArrayList<>();
+        try {
+            List<Future<List<BalanceMismatch>>> futures = new ArrayList<>();
+            for (long fromId = 0; fromId <= maxId; fromId += RECONCILE_CHUNK) {
+                long chunkStart = fromId;
+                futures.add(executor.submit(() ->
+                        balanceLedgerMapper.findMismatches(chunkStart, chunkStart + RECONCILE_CHUNK)));
+            }
+            for (Future<List<BalanceMismatch>> future : futures) {
+                mismatches.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Balance reconciliation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Balance reconciliation failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        long checked = customerMapper.selectCount(null);
+        long elapsedMs = (System.nanoTime() - begin) / 1_000_000;
+        ReconciliationReport report = new ReconciliationReport(startTime.toString(), elapsedMs, checked, mismatches);
+        lastReconciliation = report;
+
+        if (mismatches.isEmpty()) {
+            logger.info("Balance reconciliation passed: {} customers in {} ms", checked, elapsedMs);
+        } else {
+            for (BalanceMismatch mismatch : mismatches) {
+                logger.warn("Balance mismatch for customer {}: balance={}, ledger={}",
+                        mismatch.getCustomerId(), mismatch.getBalance(), mismatch.getLedgerBalance());
+            }
+            logger.warn("Balance reconciliation found {} mismatches in {} customers", mismatches.size(), checked);
+        }
+        return report;
+    }
+
+    @Override
+    public Optional<ReconciliationReport> getLastReconciliation() {
+        return Optional.ofNullable(lastReconciliation);
+    }
+}
@@ -1,10 +1,14 @@
 package com.drycleaning.system.service.impl;
 
+import com.drycleaning.system.dto.CursorPage;
 import com.drycleaning.system.mapper.ClothesMapper;
 import com.drycleaning.system.model.Clothes;
 import com.drycleaning.system.service.ClothesService;
+import com.drycleaning.system.util.KeysetPagination;
+import com.drycleaning.system.util.TimeUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +24,11 @@ public class ClothesServiceImpl implements ClothesService {
         return clothesMapper.selectList(new com.baomidou.mybatisplus.core.conditions.query.QueryWrapper<>());
     }
 
+    @Override
+    public CursorPage<Clothes> getClothesPage(Long cursor, int limit, String fields) {
+        return KeysetPagination.selectPage(clothesMapper, Clothes.class, cursor, limit, fields);
+    }
+
     @Override
     public Optional<Clothes> getClothesById(Long id) {
         return Optional.ofNullable(clothesMapper.selectById(id));
@@ -36,13 +45,17 @@ public class ClothesServiceImpl implements ClothesService {
     }
 
     @Override
+    @Transactional
     public Clothes createClothes(Clothes clothes) {
-        clothes.setCreateTime(java.time.LocalDateTime.now().toString());
+        java.time.LocalDateTime now = java.time.LocalDateTime.now();
+        clothes.setCreateTime(now.toString());
+        clothes.setCreateTs(TimeUtil.toEpochMilli(now));
         clothesMapper.insert(clothes);
         return clothes;
     }
 
     @Override
+    @Transactional
     public Clothes updateClothes(Long id, Clothes clothesDetails) {
         Clothes clothes = clothesMapper.selectById(id);
         if (clothes == null) {
@@ -51,7 +64,7 @@ public class ClothesServiceImpl implements ClothesService {
 
         clothes.setOrderId(clothesDetails.getOrderId());
         clothes.setType(clothesDetails.getType());
-        clothes.setPrice(clothesDetails.getPrice());
+        clothes.setPriceCents(clothesDetails.getPriceCents());
         clothes.setDamageRemark(clothesDetails.getDamageRemark());
         clothes.setDamageImage(clothesDetails.getDamageImage());
         clothes.setStatus(clothesDetails.getStatus());
@@ -61,23 +74,26 @@ public class ClothesServiceImpl implements ClothesService {
     }
 
     @Override
+    @Transactional
     public void deleteClothes(Long id) {
         clothesMapper.deleteById(id);
     }
 
     @Override
-    public Clothes updateClothesPrice(Long id, Double newPrice) {
+    @Transactional
+    public Clothes updateClothesPrice(Long id, long newPriceCents) {
         Clothes clothes = clothesMapper.selectById(id);
         if (clothes == null) {
             throw new RuntimeException("Clothes not found with id: " + id);
         }
 
-        clothes.setPrice(newPrice);
+        clothes.setPriceCents(newPriceCents);
         clothesMapper.updateById(clothes);
         return clothes;
     }
 
     @Override
+    @Transactional
     public Clothes updateClothesStatus(Long id, String newStatus) {
         Clothes clothes = clothesMapper.selectById(id);
         if (clothes == null) {
@@ -0,0 +1,134 @@
+package com.drycleaning.system.service.impl;
+
+import com.drycleaning.system.dto.CacheStatistics;
+import com.drycleaning.system.mapper.CustomerMapper;
+import com.drycleaning.system.model.Customer;
+import com.drycleaning.system.util.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 客户缓存：按 id 缓存客户，按手机号只缓存手机号到 id 的映射（取到 id 后再查按 id 的缓存并核对手机号）
+ * <p>
+ * 与已提交数据保持一致的方式：
+ * 加载都通过 Cache.get(key, loader) 原子完成；写操作在事务提交后 invalidate，
+ * invalidate 会等待同一个 key 正在进行的加载结束后再删除，因此提交之后缓存中不会留下提交之前读到的数据。
+ * 事务中的读取不经过缓存：既要读到本事务未提交的修改，也不能把未提交的数据放进缓存。
+ * <p>
+ * 返回的是缓存对象的副本，调用方可以修改。
+ */
+@Component
+public class CustomerCache {
+
+    @Autowired
+    private CustomerMapper customerMapper;
+
+    @Value("${customer-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${customer-cache.expire-after-write-seconds:600}")
+    private long expireAfterWriteSeconds;
+
+    private Cache<Long, Customer> byId;
+
+    private Cache<String, Long> idByPhone;
+
+    @PostConstruct
+    public void init() {
+        byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+        idByPhone = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Customer> getById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Optional.ofNullable(customerMapper.selectById(id));
+        }
+        return Optional.ofNullable(byId.get(id, customerMapper::selectById)).map(CustomerCache::copy);
+    }
+
+    public Optional<Customer> getByPhone(String phone) {
+        if (phone == null) {
+            return Optional.empty();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Optional.ofNullable(customerMapper.findByPhone(phone));
+        }
+        Long id = idByPhone.get(phone, key -> {
+            Customer customer = customerMapper.findByPhone(key);
+            return customer != null ? customer.getId() : null;
+        });
+        if (id == null) {
+            return Optional.empty();
+        }
+        Optional<Customer> customer = getById(id);
+        if (customer.isPresent() && phone.equals(customer.get().getPhone())) {
+            return customer;
+        }
+        // 映射已过时（客户被删除或改了手机号），丢弃后直接查询
+        idByPhone.invalidate(phone);
+        return Optional.ofNullable(customerMapper.findByPhone(phone));
+    }
+
+    /**
+     * 当前事务提交后使该客户的缓存失效（没有事务时立即失效）
+     */
+    public void invalidateAfterCommit(Long id) {
+        TransactionUtil.afterCommit(() -> byId.invalidate(id));
+    }
+
+    /**
+     * 当前事务提交后使这些手机号的映射失效（手机号变更、新客户使用了某个手机号时调用）
+     */
+    public void invalidatePhonesAfterCommit(String... phones) {
+        List<String> keys = Arrays.asList(phones);
+        TransactionUtil.afterCommit(() -> keys.stream().filter(Objects::nonNull).forEach(idByPhone::invalidate));
+    }
+
+    public List<CacheStatistics> getStatistics() {
+        return Arrays.asList(statistics("customerById", byId), statistics("customerIdByPhone", idByPhone));
+    }
+
+    private static CacheStatistics statistics(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        CacheStatistics statistics = new CacheStatistics();
+        statistics.setName(name);
+        statistics.setSize(cache.estimatedSize());
+        statistics.setHitCount(stats.hitCount());
+        statistics.setMissCount(stats.missCount());
+        statistics.setHitRate(stats.hitRate());
+        statistics.setEvictionCount(stats.evictionCount());
+        statistics.setLoadCount(stats.loadCount());
+        statistics.setAverageLoadPenaltyMs(stats.averageLoadPenalty() / 1_000_000.0);
+        return statistics;
+    }
+
+    private static Customer copy(Customer customer) {
+        Customer copy = new Customer();
+        BeanUtils.copyProperties(customer, copy);
+        return copy;
+    }
+}
@@ -0,0 +1,337 @@
+package com.drycleaning.system.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.drycleaning.system.mapper.CustomerMapper;
+import com.drycleaning.system.model.Customer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 常驻内存的客户搜索索引
+ * 对姓名、拼音首字母、完整拼音建立 1-gram / 2-gram 倒排表，对手机号单独建立倒排表，
+ * 倒排表只保存升序的 int 客户 id。查询时取最短的倒排表作为候选集，再按与 SQL 搜索相同的包含规则校验并排序。
+ * 启动时由 DatabaseInitializer 构建，之后由 CustomerServiceImpl 的写操作在事务提交后同步更新。
+ */
+@Component
+public class CustomerSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerSearchIndex.class);
+
+    private static final int[] EMPTY = new int[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 以客户 id 为下标保存用于校验和排序的文本，names[id] == null 表示该 id 不存在
+     */
+    private String[] names = new String[0];
+    private String[] initials = new String[0];
+    private String[] fulls = new String[0];
+    private String[] phones = new String[0];
+
+    private final Map<Integer, Postings> nameGrams = new HashMap<>();
+    private final Map<Integer, Postings> phoneGrams = new HashMap<>();
+    private int size;
+
+    private volatile boolean ready;
+
+    @Autowired
+    private CustomerMapper customerMapper;
+
+    /**
+     * 从数据库全量重建索引
+     */
+    public void rebuild() {
+        List<Customer> customers = customerMapper.selectList(new QueryWrapper<Customer>()
+                .select("id", "name", "name_pinyin_initials", "name_pinyin_full", "phone"));
+        lock.writeLock().lock();
+        try {
+            names = new String[0];
+            initials = new String[0];
+            fulls = new String[0];
+            phones = new String[0];
+            nameGrams.clear();
+            phoneGrams.clear();
+            size = 0;
+            for (Customer customer : customers) {
+                add(customer);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Customer search index built: {} customers, {} name grams, {} phone grams",
+                size, nameGrams.size(), phoneGrams.size());
+    }
+
+    /**
+     * 索引是否已构建完成（未完成时调用方应回退到 SQL 查询）
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 新增或更新客户（需已计算拼音列）
+     */
+    public void put(Customer customer) {
+        lock.writeLock().lock();
+        try {
+            remove(customer.getId().intValue());
+            add(customer);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除客户
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            remove(id.intValue());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 搜索客户，匹配规则与 CustomerMapper.searchByNameOrPinyin 一致
+     * 排序：姓名完全相同 > 姓名前缀 > 拼音前缀 > 其他包含匹配，手机号前缀优先，同分按 id 升序
+     * @param name 姓名或拼音关键词（可选）
+     * @param phone 手机号关键词（可选）
+     * @param limit 最多返回的 id 数
+     * @return 按相关度排序的客户 id
+     */
+    public long[] search(String name, String phone, int limit) {
+        String lowerName = name != null ? name.toLowerCase() : null;
+        lock.readLock().lock();
+        try {
+            int[] candidates;
+            if (lowerName != null && phone != null) {
+                int[] byName = candidates(nameGrams, lowerName);
+                int[] byPhone = candidates(phoneGrams, phone);
+                candidates = byName.length <= byPhone.length ? byName : byPhone;
+            } else if (lowerName != null) {
+                candidates = candidates(nameGrams, lowerName);
+            } else if (phone != null) {
+                candidates = candidates(phoneGrams, phone);
+            } else {
+                return allIds(limit);
+            }
+
+            // 高 32 位为得分，低 32 位为 id，排序后即为 (得分, id) 升序
+            long[] ranked = new long[candidates.length];
+            int matched = 0;
+            for (int id : candidates) {
+                int nameScore = lowerName != null ? nameScore(id, name, lowerName) : 0;
+                int phoneScore = phone != null ? phoneScore(id, phone) : 0;
+                if (nameScore < 0 || phoneScore < 0) {
+                    continue;
+                }
+                ranked[matched++] = ((long) (nameScore + phoneScore) << 32) | id;
+            }
+            Arrays.sort(ranked, 0, matched);
+
+            long[] ids = new long[Math.min(matched, limit)];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = ranked[i] & 0xFFFFFFFFL;
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int nameScore(int id, String name, String lowerName) {
+        String customerName = names[id];
+        if (customerName.equals(name)) {
+            return 0;
+        }
+        if (customerName.startsWith(name)) {
+            return 1;
+        }
+        if (initials[id].startsWith(lowerName) || fulls[id].startsWith(lowerName)) {
+            return 2;
+        }
+        if (customerName.contains(name) || initials[id].contains(lowerName) || fulls[id].contains(lowerName)) {
+            return 3;
+        }
+        return -1;
+    }
+
+    private int phoneScore(int id, String phone) {
+        String customerPhone = phones[id];
+        if (customerPhone == null) {
+            return -1;
+        }
+        if (customerPhone.startsWith(phone)) {
+            return 0;
+        }
+        return customerPhone.contains(phone) ? 1 : -1;
+    }
+
+    private long[] allIds(int limit) {
+        long[] ids = new long[Math.min(size, limit)];
+        int count = 0;
+        for (int id = 0; id < names.length && count < ids.length; id++) {
+            if (names[id] != null) {
+                ids[count++] = id;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 关键词为 1 个字符时取该字符的倒排表，否则取关键词中最短的 2-gram 倒排表；
+     * 任一 2-gram 不存在时不可能匹配
+     */
+    private static int[] candidates(Map<Integer, Postings> grams, String keyword) {
+        if (keyword.length() == 1) {
+            Postings postings = grams.get(unigram(keyword.charAt(0)));
+            return postings != null ? postings.toArray() : EMPTY;
+        }
+        Postings shortest = null;
+        for (int i = 0; i + 1 < keyword.length(); i++) {
+            Postings postings = grams.get(bigram(keyword.charAt(i), keyword.charAt(i + 1)));
+            if (postings == null) {
+                return EMPTY;
+            }
+            if (shortest == null || postings.size < shortest.size) {
+                shortest = postings;
+            }
+        }
+        return shortest.toArray();
+    }
+
+    private void add(Customer customer) {
+        int id = customer.getId().intValue();
+        String name = customer.getName() != null ? customer.getName() : "";
+        ensureCapacity(id);
+        names[id] = name;
+        initials[id] = customer.getNamePinyinInitials() != null ? customer.getNamePinyinInitials() : "";
+        fulls[id] = customer.getNamePinyinFull() != null ? customer.getNamePinyinFull() : "";
+        phones[id] = customer.getPhone();
+
+        indexText(nameGrams, name.toLowerCase(), id, true);
+        indexText(nameGrams, initials[id], id, true);
+        indexText(nameGrams, fulls[id], id, true);
+        if (phones[id] != null) {
+            indexText(phoneGrams, phones[id], id, true);
+        }
+        size++;
+    }
+
+    private void remove(int id) {
+        if (id >= names.length || names[id] == null) {
+            return;
+        }
+        indexText(nameGrams, names[id].toLowerCase(), id, false);
+        indexText(nameGrams, initials[id], id, false);
+        indexText(nameGrams, fulls[id], id, false);
+        if (phones[id] != null) {
+            indexText(phoneGrams, phones[id], id, false);
+        }
+        names[id] = null;
+        initials[id] = null;
+        fulls[id] = null;
+        phones[id] = null;
+        size--;
+    }
+
+    private static void indexText(Map<Integer, Postings> grams, String text, int id, boolean add) {
+        for (int i = 0; i < text.length(); i++) {
+            update(grams, unigram(text.charAt(i)), id, add);
+            if (i + 1 < text.length()) {
+                update(grams, bigram(text.charAt(i), text.charAt(i + 1)), id, add);
+            }
+        }
+    }
+
+    private static void update(Map<Integer, Postings> grams, int gram, int id, boolean add) {
+        if (add) {
+            grams.computeIfAbsent(gram, g -> new Postings()).add(id);
+            return;
+        }
+        Postings postings = grams.get(gram);
+        if (postings != null && postings.remove(id) && postings.size == 0) {
+            grams.remove(gram);
+        }
+    }
+
+    private static int unigram(char c) {
+        return c;
+    }
+
+    /**
+     * 2-gram 编码为 (c1 + 1) << 16 | c2，与 1-gram（0 ~ 0xFFFF）不重叠
+     */
+    private static int bigram(char c1, char c2) {
+        return ((c1 + 1) << 16) | c2;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < names.length) {
+            return;
+        }
+        int capacity = Math.max(id + 1, names.length * 2);
+        names = Arrays.copyOf(names, capacity);
+        initials = Arrays.copyOf(initials, capacity);
+        fulls = Arrays.copyOf(fulls, capacity);
+        phones = Arrays.copyOf(phones, capacity);
+    }
+
+    /**
+     * 升序且不重复的 int id 列表
+     */
+    private static final class Postings {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            // id 通常递增，直接追加；否则二分定位插入
+            if (size == 0 || ids[size - 1] < id) {
+                ids[size++] = id;
+                return;
+            }
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
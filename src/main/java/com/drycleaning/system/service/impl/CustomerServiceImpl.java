@@ -1,15 +1,28 @@
 package com.drycleaning.system.service.impl;
 
+import com.drycleaning.system.dto.CursorPage;
+import com.drycleaning.system.enums.LedgerReason;
 import com.drycleaning.system.mapper.CustomerMapper;
 import com.drycleaning.system.mapper.RechargeRecordMapper;
+import com.drycleaning.system.model.BalanceLedger;
 import com.drycleaning.system.model.Customer;
 import com.drycleaning.system.model.RechargeRecord;
+import com.drycleaning.system.service.BalanceLedgerService;
 import com.drycleaning.system.service.CustomerService;
+import com.drycleaning.system.service.DailyStatsService;
+import com.drycleaning.system.util.KeysetPagination;
+import com.drycleaning.system.util.MoneyUtil;
+import com.drycleaning.system.util.PinyinUtil;
+import com.drycleaning.system.util.TimeUtil;
+import com.drycleaning.system.util.TransactionUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -21,14 +34,42 @@ public class CustomerServiceImpl implements CustomerService {
     @Autowired
     private RechargeRecordMapper rechargeRecordMapper;
 
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private CustomerCache customerCache;
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
     @Override
     public List<Customer> getAllCustomers() {
         return customerMapper.selectList(null);
     }
 
+    @Override
+    public CursorPage<Customer> getCustomersPage(Long cursor, int limit, String fields) {
+        return KeysetPagination.selectPage(customerMapper, Customer.class, cursor, limit, fields);
+    }
+
+    @Override
+    public List<Customer> getCustomersByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (ids.size() > KeysetPagination.MAX_LIMIT) {
+            throw new IllegalArgumentException("一次最多查询 " + KeysetPagination.MAX_LIMIT + " 个客户");
+        }
+        return customerMapper.selectBatchIds(ids);
+    }
+
     @Override
     public Optional<Customer> getCustomerById(Long id) {
-        return Optional.ofNullable(customerMapper.selectById(id));
+        return customerCache.getById(id);
     }
 
     @Override
@@ -38,162 +79,232 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     public Optional<Customer> getCustomerByPhone(String phone) {
-        return Optional.ofNullable(customerMapper.findByPhone(phone));
+        return customerCache.getByPhone(phone);
     }
 
     @Override
+    @Transactional
     public Customer createCustomer(Customer customer) {
-        if (customer.getBalance() == null) {
-            customer.setBalance(0.0);
+        if (customer.getBalanceCents() == null) {
+            customer.setBalanceCents(0L);
         }
-        customer.setCreateTime(java.time.LocalDateTime.now().toString());
+        java.time.LocalDateTime now = java.time.LocalDateTime.now();
+        customer.setCreateTime(now.toString());
+        customer.setCreateTs(TimeUtil.toEpochMilli(now));
+        fillPinyin(customer);
         customerMapper.insert(customer);
+        long balanceCents = customer.getBalanceCents();
+        if (balanceCents != 0) {
+            balanceLedgerService.append(new BalanceLedger(customer.getId(), balanceCents, balanceCents,
+                    LedgerReason.OPENING.name()));
+        }
+        customerCache.invalidatePhonesAfterCommit(customer.getPhone());
+        TransactionUtil.afterCommit(() -> customerSearchIndex.put(customer));
         return customer;
     }
 
     @Override
+    @Transactional
     public Customer updateCustomer(Long id, Customer customerDetails) {
         Customer customer = customerMapper.selectById(id);
         if (customer == null) {
             throw new RuntimeException("Customer not found with id: " + id);
         }
+        Long oldBalanceCents = customer.getBalanceCents();
+        String oldPhone = customer.getPhone();
 
         customer.setName(customerDetails.getName());
+        fillPinyin(customer);
         customer.setPhone(customerDetails.getPhone());
         customer.setWechat(customerDetails.getWechat());
-        customer.setBalance(customerDetails.getBalance());
+        // 未提交余额时保持原值（updateById 本来也会跳过 null 字段）
+        if (customerDetails.getBalanceCents() != null) {
+            customer.setBalanceCents(customerDetails.getBalanceCents());
+        }
 
         customerMapper.updateById(customer);
+        recordAdjustment(id, oldBalanceCents, customer.getBalanceCents());
+        customerCache.invalidateAfterCommit(id);
+        customerCache.invalidatePhonesAfterCommit(oldPhone, customer.getPhone());
+        TransactionUtil.afterCommit(() -> customerSearchIndex.put(customer));
         return customer;
     }
 
     @Override
+    @Transactional
     public void deleteCustomer(Long id) {
         customerMapper.deleteById(id);
+        customerCache.invalidateAfterCommit(id);
+        TransactionUtil.afterCommit(() -> customerSearchIndex.remove(id));
     }
 
     @Override
-    public Customer updateCustomerBalance(Long id, Double newBalance) {
+    @Transactional
+    public Customer updateCustomerBalance(Long id, long newBalanceCents) {
         Customer customer = customerMapper.selectById(id);
         if (customer == null) {
             throw new RuntimeException("Customer not found with id: " + id);
         }
+        Long oldBalanceCents = customer.getBalanceCents();
 
-        customer.setBalance(newBalance);
+        customer.setBalanceCents(newBalanceCents);
         customerMapper.updateById(customer);
+        recordAdjustment(id, oldBalanceCents, newBalanceCents);
+        customerCache.invalidateAfterCommit(id);
         return customer;
     }
 
+    @Override
+    @Transactional
+    public long debit(Long customerId, long amountCents, LedgerReason reason, String orderNo) {
+        if (amountCents <= 0) {
+            throw new IllegalArgumentException("扣款金额必须大于 0");
+        }
+        Long newBalance = customerMapper.debit(customerId, amountCents);
+        if (newBalance == null) {
+            // 只有失败时才再读一次，用于区分客户不存在和余额不足
+            Customer customer = customerMapper.selectById(customerId);
+            if (customer == null) {
+                throw new IllegalArgumentException("客户不存在");
+            }
+            throw new IllegalArgumentException("储值余额不足！当前余额：¥" + MoneyUtil.format(customer.getBalanceCents())
+                    + "，扣款金额：¥" + MoneyUtil.format(amountCents));
+        }
+        // RETURNING 的余额由本条 UPDATE 产生，写锁持有到事务提交，流水中的余额与之严格对应
+        BalanceLedger entry = new BalanceLedger(customerId, -amountCents, newBalance, reason.name());
+        entry.setOrderNo(orderNo);
+        balanceLedgerService.append(entry);
+        customerCache.invalidateAfterCommit(customerId);
+        return newBalance;
+    }
+
+    @Override
+    @Transactional
+    public long credit(Long customerId, long amountCents, LedgerReason reason, Long rechargeRecordId) {
+        if (amountCents <= 0) {
+            throw new IllegalArgumentException("充值金额必须大于 0");
+        }
+        Long newBalance = customerMapper.credit(customerId, amountCents);
+        if (newBalance == null) {
+            throw new IllegalArgumentException("客户不存在");
+        }
+        BalanceLedger entry = new BalanceLedger(customerId, amountCents, newBalance, reason.name());
+        entry.setRechargeRecordId(rechargeRecordId);
+        balanceLedgerService.append(entry);
+        customerCache.invalidateAfterCommit(customerId);
+        return newBalance;
+    }
+
     @Override
     public List<Customer> fuzzySearch(String name, String phone, String note) {
         return customerMapper.fuzzySearch(name, phone, note);
     }
 
     @Override
-    public List<Customer> searchByNameOrPinyin(String keyword) {
-        if (keyword == null || keyword.trim().isEmpty()) {
-            return getAllCustomers();
-        }
-        
-        String trimmedKeyword = keyword.trim();
-        List<Customer> allCustomers = getAllCustomers();
-        
-        // 过滤匹配的客户
-        return allCustomers.stream()
-            .filter(customer -> {
-                if (customer.getName() == null) {
-                    return false;
-                }
-                // 姓名包含匹配
-                if (customer.getName().contains(trimmedKeyword)) {
-                    return true;
-                }
-                // 拼音匹配
-                return com.drycleaning.system.util.PinyinUtil.matchesPinyin(
-                    customer.getName(), trimmedKeyword);
-            })
-            .collect(java.util.stream.Collectors.toList());
-    }
-
-    @Override
-    public List<Customer> fuzzySearchWithPinyin(String name, String phone, String note) {
-        // 获取所有客户
-        List<Customer> allCustomers = customerMapper.selectList(null);
-        
-        // 过滤条件
-        return allCustomers.stream()
-            .filter(customer -> {
-                // 手机号过滤
-                if (phone != null && !phone.trim().isEmpty()) {
-                    if (customer.getPhone() == null || !customer.getPhone().contains(phone.trim())) {
-                        return false;
-                    }
-                }
-                
-                // 备注过滤（Customer 模型没有 note 字段，跳过）
-                
-                // 姓名过滤（支持拼音）
-                if (name != null && !name.trim().isEmpty()) {
-                    if (customer.getName() == null) {
-                        return false;
-                    }
-                    String trimmedName = name.trim();
-                    // 姓名包含匹配
-                    boolean nameMatches = customer.getName().contains(trimmedName);
-                    // 拼音匹配
-                    boolean pinyinMatches = com.drycleaning.system.util.PinyinUtil.matchesPinyin(
-                        customer.getName(), trimmedName);
-                    
-                    if (!nameMatches && !pinyinMatches) {
-                        return false;
-                    }
-                }
-                
-                return true;
-            })
-            .collect(java.util.stream.Collectors.toList());
+    public List<Customer> searchByNameOrPinyin(String keyword, int limit) {
+        return fuzzySearchWithPinyin(keyword, null, null, limit);
+    }
+
+    @Override
+    public List<Customer> fuzzySearchWithPinyin(String name, String phone, String note, int limit) {
+        // 备注过滤（Customer 模型没有 note 字段，跳过）
+        String trimmedName = trimToNull(name);
+        String trimmedPhone = trimToNull(phone);
+
+        // 索引尚未构建完成（启动过程中）时回退到 SQL 查询
+        if (!customerSearchIndex.isReady()) {
+            return customerMapper.searchByNameOrPinyin(
+                trimmedName,
+                trimmedName != null ? trimmedName.toLowerCase() : null,
+                trimmedPhone,
+                limit);
+        }
+
+        // 由内存索引完成匹配和排序，只按主键读取前 limit 个客户
+        long[] ids = customerSearchIndex.search(trimmedName, trimmedPhone, limit);
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        Map<Long, Customer> customersById = new HashMap<>();
+        for (Customer customer : customerMapper.selectBatchIds(idList)) {
+            customersById.put(customer.getId(), customer);
+        }
+        List<Customer> result = new ArrayList<>(ids.length);
+        for (Long id : idList) {
+            Customer customer = customersById.get(id);
+            if (customer != null) {
+                result.add(customer);
+            }
+        }
+        return result;
     }
 
     @Override
     @Transactional
-    public Customer createCustomerWithRecharge(Customer customer, Double rechargeAmount) {
+    public Customer createCustomerWithRecharge(Customer customer, Long rechargeAmountCents) {
         // 验证充值金额：如果为 null 或 0，则只创建客户不充值
-        if (rechargeAmount == null || rechargeAmount <= 0) {
+        if (rechargeAmountCents == null || rechargeAmountCents <= 0) {
             return createCustomer(customer);
         }
+        long rechargeCents = rechargeAmountCents;
 
         // 验证充值金额必须是 100 的整数倍
-        if (rechargeAmount % 100 != 0) {
+        if (rechargeCents % (100 * MoneyUtil.CENTS_PER_YUAN) != 0) {
             throw new IllegalArgumentException("充值金额必须是 100 的整数倍");
         }
 
         // 创建客户（初始余额为 0）
-        customer.setBalance(0.0);
-        customer.setCreateTime(java.time.LocalDateTime.now().toString());
-        customerMapper.insert(customer);
+        customer.setBalanceCents(0L);
+        createCustomer(customer);
 
         // 计算赠送金额（阶梯比例：100 送 10%，200 送 20%）
-        Double giftAmount;
-        if (rechargeAmount >= 200) {
-            giftAmount = rechargeAmount * 0.2;
-        } else if (rechargeAmount >= 100) {
-            giftAmount = rechargeAmount * 0.1;
-        } else {
-            giftAmount = 0.0;
-        }
-        Double totalAmount = rechargeAmount + giftAmount;
-
-        // 更新客户余额
-        customer.setBalance(totalAmount);
-        customerMapper.updateById(customer);
+        long giftCents = MoneyUtil.rechargeGiftCents(rechargeCents);
+        long totalCents = rechargeCents + giftCents;
 
         // 创建充值记录
         RechargeRecord record = new RechargeRecord();
         record.setCustomerId(customer.getId());
-        record.setRechargeAmount(rechargeAmount);
-        record.setGiftAmount(giftAmount);
+        record.setRechargeAmountCents(rechargeCents);
+        record.setGiftAmountCents(giftCents);
+        record.setCreateTime(customer.getCreateTime());
+        record.setCreateTs(customer.getCreateTs());
         rechargeRecordMapper.insert(record);
+        dailyStatsService.recordRechargeRecord(record);
+
+        // 更新客户余额并记录流水
+        customer.setBalanceCents(credit(customer.getId(), totalCents, LedgerReason.RECHARGE, record.getId()));
 
         return customer;
     }
+
+    /**
+     * 直接修改余额时按差额记录一条调整流水，保证流水合计与余额一致
+     */
+    private void recordAdjustment(Long customerId, Long oldBalanceCents, Long newBalanceCents) {
+        long before = oldBalanceCents != null ? oldBalanceCents : 0;
+        long after = newBalanceCents != null ? newBalanceCents : 0;
+        if (after != before) {
+            balanceLedgerService.append(new BalanceLedger(customerId, after - before, after,
+                    LedgerReason.ADJUSTMENT.name()));
+        }
+    }
+
+    /**
+     * 根据姓名计算拼音列，新增或修改姓名时调用
+     */
+    private static void fillPinyin(Customer customer) {
+        customer.setNamePinyinInitials(PinyinUtil.toSearchPinyinInitials(customer.getName()));
+        customer.setNamePinyinFull(PinyinUtil.toSearchFullPinyin(customer.getName()));
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return value.trim();
+    }
 }
@@ -0,0 +1,110 @@
+package com.drycleaning.system.service.impl;
+
+import com.drycleaning.system.mapper.DailyStatsMapper;
+import com.drycleaning.system.model.DailyStats;
+import com.drycleaning.system.model.Order;
+import com.drycleaning.system.model.RechargeRecord;
+import com.drycleaning.system.service.DailyStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+public class DailyStatsServiceImpl implements DailyStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyStatsServiceImpl.class);
+
+    @Autowired
+    private DailyStatsMapper dailyStatsMapper;
+
+    @Override
+    public void recordOrder(Order order) {
+        applyOrder(order, 1);
+    }
+
+    @Override
+    public void revertOrder(Order order) {
+        applyOrder(order, -1);
+    }
+
+    @Override
+    public void recordRechargeRecord(RechargeRecord record) {
+        applyRechargeRecord(record, 1);
+    }
+
+    @Override
+    public void revertRechargeRecord(RechargeRecord record) {
+        applyRechargeRecord(record, -1);
+    }
+
+    @Override
+    public DailyStats getDailyStats(LocalDate date) {
+        DailyStats stats = dailyStatsMapper.selectById(date.toString());
+        return stats != null ? stats : new DailyStats(date.toString());
+    }
+
+    @Override
+    public DailyStats sumBetween(LocalDate start, LocalDate end) {
+        DailyStats stats = dailyStatsMapper.sumBetween(start.toString(), end.toString());
+        return stats != null ? stats : new DailyStats();
+    }
+
+    @Override
+    public List<DailyStats> findBetween(LocalDate start, LocalDate end) {
+        return dailyStatsMapper.findBetween(start.toString(), end.toString());
+    }
+
+    @Override
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (dailyStatsMapper.selectCount(null) > 0) {
+            return;
+        }
+        int days = dailyStatsMapper.rebuildAll();
+        logger.info("Daily stats rebuilt from orders and recharge records: {} days", days);
+    }
+
+    private void applyOrder(Order order, int sign) {
+        String statDate = statDate(order.getCreateTime());
+        if (statDate == null) {
+            return;
+        }
+
+        long amountCents = order.getTotalPriceCents() != null ? order.getTotalPriceCents() : 0;
+        DailyStats delta = new DailyStats(statDate);
+        if ("CASH".equalsIgnoreCase(order.getPayType())) {
+            delta.setCashIncomeCents(sign * amountCents);
+        } else if ("PREPAID".equalsIgnoreCase(order.getPayType())) {
+            delta.setPrepaidVolumeCents(sign * amountCents);
+        }
+        delta.setOrderCount((long) sign);
+        dailyStatsMapper.addDelta(delta);
+    }
+
+    private void applyRechargeRecord(RechargeRecord record, int sign) {
+        String statDate = statDate(record.getCreateTime());
+        if (statDate == null) {
+            return;
+        }
+
+        DailyStats delta = new DailyStats(statDate);
+        delta.setRechargeAmountCents(sign * (record.getRechargeAmountCents() != null ? record.getRechargeAmountCents() : 0));
+        delta.setGiftAmountCents(sign * (record.getGiftAmountCents() != null ? record.getGiftAmountCents() : 0));
+        dailyStatsMapper.addDelta(delta);
+    }
+
+    /**
+     * create_time 为 ISO-8601 文本，前 10 位即 yyyy-MM-dd
+     */
+    private static String statDate(String createTime) {
+        if (createTime == null || createTime.length() < 10) {
+            return null;
+        }
+        return createTime.substring(0, 10);
+    }
+}
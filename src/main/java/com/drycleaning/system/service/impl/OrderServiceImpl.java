@@ -1,16 +1,29 @@
 package com.drycleaning.system.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
+import com.drycleaning.system.dto.CursorPage;
+import com.drycleaning.system.dto.OrderWithClothes;
+import com.drycleaning.system.enums.ClothesStatus;
+import com.drycleaning.system.enums.LedgerReason;
+import com.drycleaning.system.mapper.ClothesMapper;
 import com.drycleaning.system.mapper.OrderMapper;
-import com.drycleaning.system.model.Customer;
+import com.drycleaning.system.model.Clothes;
 import com.drycleaning.system.model.Order;
 import com.drycleaning.system.service.CustomerService;
+import com.drycleaning.system.service.DailyStatsService;
 import com.drycleaning.system.service.OrderService;
+import com.drycleaning.system.util.KeysetPagination;
+import com.drycleaning.system.util.TimeUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class OrderServiceImpl implements OrderService {
@@ -18,12 +31,26 @@ public class OrderServiceImpl implements OrderService {
     @Autowired
     private OrderMapper orderMapper;
 
+    @Autowired
+    private ClothesMapper clothesMapper;
+
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private OrderStatusCounter orderStatusCounter;
+
     @Override
     public List<Order> getAllOrders() {
-        return orderMapper.selectList(new com.baomidou.mybatisplus.core.conditions.query.QueryWrapper<>());
+        return orderMapper.selectList(new QueryWrapper<>());
+    }
+
+    @Override
+    public CursorPage<Order> getOrdersPage(Long cursor, int limit, String fields) {
+        return KeysetPagination.selectPage(orderMapper, Order.class, cursor, limit, fields);
     }
 
     @Override
@@ -47,73 +74,149 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    public List<Order> getOrdersByCreateDate(LocalDate from, LocalDate to) {
+        return orderMapper.findByCreateTs(TimeUtil.startOfDay(from), TimeUtil.startOfDay(to.plusDays(1)));
+    }
+
+    @Override
+    @Transactional
     public Order createOrder(Order order) {
-        order.setCreateTime(java.time.LocalDateTime.now().toString());
+        // 储值支付：与订单插入在同一事务中扣除余额，插入失败时扣款一起回滚
+        if ("PREPAID".equals(order.getPayType())) {
+            customerService.debit(order.getCustomerId(), order.getTotalPriceCents(),
+                    LedgerReason.ORDER_PAYMENT, order.getOrderNo());
+        }
+        java.time.LocalDateTime now = java.time.LocalDateTime.now();
+        order.setCreateTime(now.toString());
+        order.setCreateTs(TimeUtil.toEpochMilli(now));
         orderMapper.insert(order);
+        dailyStatsService.recordOrder(order);
+        orderStatusCounter.onCreated(order.getStatus());
         return order;
     }
 
     @Override
+    @Transactional
+    public OrderWithClothes createOrderWithClothes(Order order, List<Clothes> clothes) {
+        if (order == null || order.getOrderNo() == null || order.getOrderNo().trim().isEmpty()) {
+            throw new IllegalArgumentException("订单号不能为空");
+        }
+        if (order.getCustomerId() == null) {
+            throw new IllegalArgumentException("客户 ID 不能为空");
+        }
+        if (order.getTotalPriceCents() == null || order.getTotalPriceCents() <= 0) {
+            throw new IllegalArgumentException("订单金额必须大于 0");
+        }
+        if (clothes == null || clothes.isEmpty()) {
+            throw new IllegalArgumentException("请至少添加一件衣物");
+        }
+        for (Clothes item : clothes) {
+            if (item.getType() == null || item.getType().trim().isEmpty() || item.getPriceCents() == null) {
+                throw new IllegalArgumentException("衣物类型和价格不能为空");
+            }
+        }
+        if (orderMapper.selectCount(new QueryWrapper<Order>().eq("order_no", order.getOrderNo())) > 0) {
+            throw new IllegalArgumentException("订单号已存在：" + order.getOrderNo());
+        }
+
+        // 储值支付的扣款在 createOrder 中完成，后续任何一步失败都会一起回滚
+        createOrder(order);
+
+        // 衣物使用批量执行器插入，整单只有一次提交
+        for (Clothes item : clothes) {
+            item.setId(null);
+            item.setOrderId(order.getOrderNo());
+            if (item.getStatus() == null) {
+                item.setStatus(ClothesStatus.UNWASHED.name());
+            }
+            item.setCreateTime(order.getCreateTime());
+            item.setCreateTs(order.getCreateTs());
+        }
+        Db.saveBatch(clothes);
+
+        // 批量插入时 SQLite 不能返回每一行的自增 id，按订单号重新读取
+        return new OrderWithClothes(order, clothesMapper.findByOrderId(order.getOrderNo()));
+    }
+
+    @Override
+    @Transactional
     public Order updateOrder(Long id, Order orderDetails) {
         Order order = orderMapper.selectById(id);
         if (order == null) {
             throw new RuntimeException("Order not found with id: " + id);
         }
 
+        // 先从汇总中扣除旧值，更新后再计入新值
+        dailyStatsService.revertOrder(order);
+        orderStatusCounter.onStatusChanged(order.getStatus(), orderDetails.getStatus());
+
         order.setOrderNo(orderDetails.getOrderNo());
         order.setCustomerId(orderDetails.getCustomerId());
-        order.setTotalPrice(orderDetails.getTotalPrice());
-        order.setPrepaid(orderDetails.getPrepaid());
+        order.setTotalPriceCents(orderDetails.getTotalPriceCents());
+        order.setPrepaidCents(orderDetails.getPrepaidCents());
         order.setPayType(orderDetails.getPayType());
         order.setUrgent(orderDetails.getUrgent());
         order.setStatus(orderDetails.getStatus());
         order.setExpectedTime(orderDetails.getExpectedTime());
 
         orderMapper.updateById(order);
+        dailyStatsService.recordOrder(order);
         return order;
     }
 
     @Override
+    @Transactional
     public void deleteOrder(Long id) {
+        Order order = orderMapper.selectById(id);
+        if (order == null) {
+            return;
+        }
         orderMapper.deleteById(id);
+        dailyStatsService.revertOrder(order);
+        orderStatusCounter.onDeleted(order.getStatus());
     }
 
     @Override
+    @Transactional
     public Order updateOrderStatus(Long id, String newStatus) {
         Order order = orderMapper.selectById(id);
         if (order == null) {
             throw new RuntimeException("Order not found with id: " + id);
         }
 
+        orderStatusCounter.onStatusChanged(order.getStatus(), newStatus);
         order.setStatus(newStatus);
         orderMapper.updateById(order);
         return order;
     }
 
     @Override
-    public List<Order> fuzzySearch(String orderNo, String customerName, String clothesType) {
-        // 第一步：使用 Mapper 进行订单号模糊查询
-        List<Order> orders = orderMapper.fuzzySearch(orderNo);
-        
-        // 第二步：在内存中过滤客户姓名和衣物类型
-        return orders.stream()
-            .filter(order -> {
-                // 过滤客户姓名
-                if (customerName != null && !customerName.trim().isEmpty()) {
-                    Optional<Customer> customerOpt = customerService.getCustomerById(order.getCustomerId());
-                    if (customerOpt.isPresent()) {
-                        String custName = customerOpt.get().getName();
-                        if (custName == null || !custName.contains(customerName.trim())) {
-                            return false;
-                        }
-                    } else {
-                        return false;
-                    }
-                }
-                // 注意：衣物类型需要关联 clothes 表，这里简化处理
-                // 如需完整实现，需要添加 ClothesMapper 并查询关联数据
-                return true;
-            })
-            .collect(Collectors.toList());
+    public List<Order> fuzzySearch(String orderNo, String customerName, String phone, String clothesType) {
+        return search(null, orderNo, customerName, phone, clothesType);
+    }
+
+    @Override
+    public IPage<Order> fuzzySearch(String orderNo, String customerName, String phone, String clothesType,
+                                    long page, long size) {
+        if (page < 1 || size < 1) {
+            throw new IllegalArgumentException("页码和每页条数必须大于 0");
+        }
+        Page<Order> result = new Page<>(page, size);
+        result.setRecords(search(result, orderNo, customerName, phone, clothesType));
+        return result;
+    }
+
+    private List<Order> search(IPage<Order> page, String orderNo, String customerName, String phone,
+                               String clothesType) {
+        String name = trimToNull(customerName);
+        return orderMapper.fuzzySearch(page, trimToNull(orderNo), name, name != null ? name.toLowerCase() : null,
+                trimToNull(phone), trimToNull(clothesType));
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return value.trim();
     }
 }
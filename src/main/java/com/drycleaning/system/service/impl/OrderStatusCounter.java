@@ -0,0 +1,105 @@
+package com.drycleaning.system.service.impl;
+
+import com.drycleaning.system.mapper.OrderMapper;
+import com.drycleaning.system.util.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按状态统计的订单数（内存计数器）
+ * 启动时由 GROUP BY status 查询初始化一次，之后由 OrderServiceImpl 的写操作在事务提交后同步更新
+ */
+@Component
+public class OrderStatusCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusCounter.class);
+
+    /**
+     * 状态为空的订单计入该键（按未完成处理）
+     */
+    static final String UNKNOWN_STATUS = "UNKNOWN";
+
+    private static final String FINISHED_STATUS = "FINISHED";
+
+    private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    /**
+     * 从数据库重新加载各状态订单数
+     */
+    public void reload() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map<String, Object> row : orderMapper.countGroupByStatus()) {
+            counts.put(key((String) row.get("status")), ((Number) row.get("count")).longValue());
+        }
+        counters.clear();
+        counts.forEach((status, count) -> counter(status).add(count));
+        logger.info("Order status counters loaded: {}", counts);
+    }
+
+    /**
+     * 新增订单
+     */
+    public void onCreated(String status) {
+        TransactionUtil.afterCommit(() -> counter(key(status)).increment());
+    }
+
+    /**
+     * 订单状态变更
+     */
+    public void onStatusChanged(String oldStatus, String newStatus) {
+        if (key(oldStatus).equals(key(newStatus))) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> {
+            counter(key(oldStatus)).decrement();
+            counter(key(newStatus)).increment();
+        });
+    }
+
+    /**
+     * 删除订单
+     */
+    public void onDeleted(String status) {
+        TransactionUtil.afterCommit(() -> counter(key(status)).decrement());
+    }
+
+    /**
+     * 未完成（状态不是 FINISHED）的订单数
+     */
+    public long getUnfinishedCount() {
+        long total = 0;
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            if (!FINISHED_STATUS.equals(entry.getKey())) {
+                total += entry.getValue().sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 各状态订单数快照（按状态名排序）
+     */
+    public Map<String, Long> getCountsByStatus() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((status, counter) -> snapshot.put(status, counter.sum()));
+        return snapshot;
+    }
+
+    private LongAdder counter(String status) {
+        return counters.computeIfAbsent(status, s -> new LongAdder());
+    }
+
+    private static String key(String status) {
+        return status != null ? status : UNKNOWN_STATUS;
+    }
+}
@@ -1,11 +1,23 @@
 package com.drycleaning.system.service.impl;
 
+import com.drycleaning.system.dto.CursorPage;
+import com.drycleaning.system.dto.CustomerRechargeSummary;
+import com.drycleaning.system.dto.RechargeHistoryItem;
+import com.drycleaning.system.enums.LedgerReason;
 import com.drycleaning.system.mapper.RechargeRecordMapper;
 import com.drycleaning.system.model.RechargeRecord;
+import com.drycleaning.system.service.CustomerService;
+import com.drycleaning.system.service.DailyStatsService;
 import com.drycleaning.system.service.RechargeRecordService;
+import com.drycleaning.system.util.KeysetPagination;
+import com.drycleaning.system.util.MoneyUtil;
+import com.drycleaning.system.util.TimeUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +27,12 @@ public class RechargeRecordServiceImpl implements RechargeRecordService {
     @Autowired
     private RechargeRecordMapper rechargeRecordMapper;
 
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private CustomerService customerService;
+
     @Override
     public List<RechargeRecord> getAllRechargeRecords() {
         return rechargeRecordMapper.selectList(new com.baomidou.mybatisplus.core.conditions.query.QueryWrapper<>());
@@ -31,17 +49,90 @@ public class RechargeRecordServiceImpl implements RechargeRecordService {
     }
 
     @Override
+    public CursorPage<RechargeHistoryItem> getRechargeHistory(LocalDate from, LocalDate to, Long cursor, int limit) {
+        checkRange(from, to, limit);
+        // 多取一行用来判断是否还有下一页
+        List<RechargeHistoryItem> rows = rechargeRecordMapper.findHistory(fromTs(from), toTs(to), cursor, limit + 1);
+        Long nextCursor = null;
+        if (rows.size() > limit) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+            nextCursor = rows.get(limit - 1).getId();
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    @Override
+    public CursorPage<CustomerRechargeSummary> getRechargeSummary(LocalDate from, LocalDate to, Long cursor,
+                                                                  int limit) {
+        checkRange(from, to, limit);
+        List<CustomerRechargeSummary> rows =
+                rechargeRecordMapper.summarizeByCustomer(fromTs(from), toTs(to), cursor, limit + 1);
+        Long nextCursor = null;
+        if (rows.size() > limit) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+            nextCursor = rows.get(limit - 1).getCustomerId();
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to, int limit) {
+        if (limit < 1 || limit > KeysetPagination.MAX_LIMIT) {
+            throw new IllegalArgumentException("limit 必须在 1 ~ " + KeysetPagination.MAX_LIMIT + " 之间");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("开始日期不能晚于结束日期");
+        }
+    }
+
+    private static Long fromTs(LocalDate from) {
+        return from != null ? TimeUtil.startOfDay(from) : null;
+    }
+
+    private static Long toTs(LocalDate to) {
+        return to != null ? TimeUtil.startOfDay(to.plusDays(1)) : null;
+    }
+
+    @Override
+    @Transactional
     public RechargeRecord createRechargeRecord(RechargeRecord rechargeRecord) {
-        Double rechargeAmount = rechargeRecord.getRechargeAmount();
-        Double giftAmount = rechargeAmount * 0.2;
-        rechargeRecord.setGiftAmount(giftAmount);
-        rechargeRecord.setCreateTime(java.time.LocalDateTime.now().toString());
-        rechargeRecordMapper.insert(rechargeRecord);
+        rechargeRecord.setGiftAmountCents(MoneyUtil.percentOf(rechargeRecord.getRechargeAmountCents(), 20));
+        insertRechargeRecord(rechargeRecord);
         return rechargeRecord;
     }
 
     @Override
+    @Transactional
+    public long recharge(Long customerId, long amountCents, long giftCents) {
+        RechargeRecord record = new RechargeRecord();
+        record.setCustomerId(customerId);
+        record.setRechargeAmountCents(amountCents);
+        record.setGiftAmountCents(giftCents);
+        // 使用调用方计算的赠送金额，充值记录、日汇总和余额增加的金额保持一致
+        insertRechargeRecord(record);
+
+        // 客户不存在时抛出异常，充值记录一起回滚
+        return customerService.credit(customerId, amountCents + giftCents, LedgerReason.RECHARGE, record.getId());
+    }
+
+    /**
+     * 按记录中的金额写入充值记录并计入日汇总
+     */
+    private void insertRechargeRecord(RechargeRecord rechargeRecord) {
+        java.time.LocalDateTime now = java.time.LocalDateTime.now();
+        rechargeRecord.setCreateTime(now.toString());
+        rechargeRecord.setCreateTs(TimeUtil.toEpochMilli(now));
+        rechargeRecordMapper.insert(rechargeRecord);
+        dailyStatsService.recordRechargeRecord(rechargeRecord);
+    }
+
+    @Override
+    @Transactional
     public void deleteRechargeRecord(Long id) {
+        RechargeRecord rechargeRecord = rechargeRecordMapper.selectById(id);
+        if (rechargeRecord == null) {
+            return;
+        }
         rechargeRecordMapper.deleteById(id);
+        dailyStatsService.revertRechargeRecord(rechargeRecord);
     }
 }
@@ -0,0 +1,355 @@
+package com.drycleaning.system.service.impl;
+
+import com.drycleaning.system.dto.SlowQuery;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 慢查询记录：由 MybatisMetricsInterceptor 在每条 SQL 语句执行后调用
+ * <p>
+ * 超过耗时阈值或行数阈值的语句（如读取整张表的 selectList）记为慢查询：
+ * 在后台线程上用只读连接执行 EXPLAIN QUERY PLAN（按 SQL 缓存），放入最近慢查询的环形缓冲区，
+ * 并输出一行 key=value 格式的日志；同一语句在日志间隔内只输出一次，其余次数合计到下一次日志的 suppressed 中。
+ * 未超过阈值的语句按采样率抽样输出日志，用于替代逐条打印全部 SQL 的 StdOutImpl。
+ * <p>
+ * 执行语句的线程只判断阈值、取出参数值并提交任务；后台队列已满时直接丢弃，不会拖慢业务请求。
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    /**
+     * 日志和返回结果中参数值的最大长度
+     */
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    @Autowired
+    @Qualifier("readDataSource")
+    private DataSource readDataSource;
+
+    @Value("${slow-query.enabled:true}")
+    private boolean enabled;
+
+    @Value("${slow-query.threshold-ms:200}")
+    private long thresholdMs;
+
+    @Value("${slow-query.row-threshold:5000}")
+    private long rowThreshold;
+
+    @Value("${slow-query.sample-rate:0}")
+    private double sampleRate;
+
+    @Value("${slow-query.log-interval-ms:60000}")
+    private long logIntervalMs;
+
+    @Value("${slow-query.buffer-size:200}")
+    private int bufferSize;
+
+    @Value("${slow-query.queue-capacity:1000}")
+    private int queueCapacity;
+
+    private long thresholdNanos;
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * SQL 到执行计划的缓存，索引变化后最多过期时间内仍返回旧的计划
+     */
+    private Cache<String, List<String>> plans;
+
+    /**
+     * 最近的慢查询，最新的在队首
+     */
+    private final Deque<SlowQuery> recent = new ArrayDeque<>();
+
+    /**
+     * 各语句上次输出日志的时间和之后被省略的次数，只在后台线程上访问
+     */
+    private final Map<String, LogWindow> logWindows = new HashMap<>();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        plans = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-log");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> dropped.incrementAndGet());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 记录一条已执行的语句；boundSql 为 null 时由 MappedStatement 和参数重新生成
+     * @param statementName Mapper 类名.方法名，与监控指标中的语句标签一致
+     */
+    public void record(MappedStatement statement, String statementName, BoundSql boundSql, Object parameter,
+                       long elapsedNanos, long rows) {
+        if (!enabled) {
+            return;
+        }
+        List<String> reasons = new ArrayList<>(2);
+        if (elapsedNanos >= thresholdNanos) {
+            reasons.add("SLOW");
+        }
+        if (rows >= rowThreshold) {
+            reasons.add("ROWS");
+        }
+        if (reasons.isEmpty() && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        if (boundSql == null) {
+            boundSql = statement.getBoundSql(parameter);
+        }
+        // 参数值在当前线程取出，后台线程执行时参数对象可能已被修改
+        Execution execution = new Execution(statement, statementName, boundSql,
+                parameterValues(statement, boundSql, parameter), reasons, elapsedNanos, rows);
+        executor.execute(() -> {
+            try {
+                if (execution.reasons.isEmpty()) {
+                    logSample(execution);
+                } else {
+                    recordOffender(execution);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to record slow query {}", execution.statement.getId(), e);
+            }
+        });
+    }
+
+    /**
+     * 最近的慢查询，最新的在前
+     */
+    public List<SlowQuery> getRecent() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    private void recordOffender(Execution execution) {
+        List<String> plan = plans.get(execution.sql, sql -> explain(execution));
+
+        SlowQuery slowQuery = new SlowQuery();
+        slowQuery.setOccurredAt(execution.occurredAt.format(TIME_FORMAT));
+        slowQuery.setStatement(execution.statementName);
+        slowQuery.setType(execution.statement.getSqlCommandType().name());
+        slowQuery.setReasons(execution.reasons);
+        slowQuery.setElapsedMs(execution.elapsedMs());
+        slowQuery.setRows(execution.rows);
+        slowQuery.setSql(execution.sql);
+        slowQuery.setParameters(execution.parameterTexts());
+        slowQuery.setPlan(plan != null ? plan : Collections.emptyList());
+        synchronized (recent) {
+            recent.addFirst(slowQuery);
+            while (recent.size() > bufferSize) {
+                recent.removeLast();
+            }
+        }
+
+        LogWindow window = logWindows.computeIfAbsent(execution.statement.getId(), key -> new LogWindow());
+        long now = System.nanoTime();
+        if (window.logged && now - window.lastLoggedNanos < TimeUnit.MILLISECONDS.toNanos(logIntervalMs)) {
+            window.suppressed++;
+            return;
+        }
+        logger.warn("slow-sql statement={} type={} reasons={} elapsedMs={} rows={} suppressed={} dropped={} sql=\"{}\" params={} plan=\"{}\"",
+                slowQuery.getStatement(), slowQuery.getType(), String.join(",", slowQuery.getReasons()),
+                String.format("%.1f", slowQuery.getElapsedMs()), slowQuery.getRows(), window.suppressed,
+                dropped.getAndSet(0), slowQuery.getSql(), slowQuery.getParameters(),
+                String.join(" | ", slowQuery.getPlan()));
+        window.logged = true;
+        window.lastLoggedNanos = now;
+        window.suppressed = 0;
+    }
+
+    private void logSample(Execution execution) {
+        logger.info("sql-sample statement={} type={} elapsedMs={} rows={} sql=\"{}\" params={}",
+                execution.statementName, execution.statement.getSqlCommandType().name(),
+                String.format("%.1f", execution.elapsedMs()), execution.rows, execution.sql,
+                execution.parameterTexts());
+    }
+
+    /**
+     * 在只读连接上执行 EXPLAIN QUERY PLAN，按父子关系缩进；失败时返回 null（不缓存，下次重试）
+     */
+    private List<String> explain(Execution execution) {
+        Configuration configuration = execution.statement.getConfiguration();
+        try (Connection connection = readDataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement("EXPLAIN QUERY PLAN " + execution.rawSql)) {
+            List<ParameterMapping> mappings = execution.boundSql.getParameterMappings();
+            for (int i = 0; i < mappings.size(); i++) {
+                ParameterMapping mapping = mappings.get(i);
+                if (mapping.getMode() == ParameterMode.OUT) {
+                    continue;
+                }
+                Object value = execution.parameters.get(i);
+                JdbcType jdbcType = mapping.getJdbcType();
+                if (value == null && jdbcType == null) {
+                    jdbcType = configuration.getJdbcTypeForNull();
+                }
+                @SuppressWarnings("unchecked")
+                TypeHandler<Object> typeHandler = (TypeHandler<Object>) mapping.getTypeHandler();
+                typeHandler.setParameter(ps, i + 1, value, jdbcType);
+            }
+            List<String> plan = new ArrayList<>();
+            Map<Integer, Integer> depths = new HashMap<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int depth = depths.getOrDefault(rs.getInt("parent"), -1) + 1;
+                    depths.put(rs.getInt("id"), depth);
+                    StringBuilder line = new StringBuilder();
+                    for (int i = 0; i < depth; i++) {
+                        line.append("  ");
+                    }
+                    plan.add(line.append(rs.getString("detail")).toString());
+                }
+            }
+            return plan;
+        } catch (Exception e) {
+            logger.debug("Failed to explain {}", execution.statement.getId(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 按 MyBatis DefaultParameterHandler 的规则取出各占位符对应的参数值
+     */
+    private static List<Object> parameterValues(MappedStatement statement, BoundSql boundSql, Object parameter) {
+        Configuration configuration = statement.getConfiguration();
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        List<Object> values = new ArrayList<>(mappings.size());
+        MetaObject metaObject = null;
+        for (ParameterMapping mapping : mappings) {
+            String property = mapping.getProperty();
+            Object value;
+            if (mapping.getMode() == ParameterMode.OUT) {
+                value = null;
+            } else if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameter == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameter);
+                }
+                value = metaObject.getValue(property);
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    private static class Execution {
+
+        private final LocalDateTime occurredAt = LocalDateTime.now();
+
+        private final MappedStatement statement;
+
+        private final String statementName;
+
+        private final BoundSql boundSql;
+
+        private final String rawSql;
+
+        /**
+         * 去掉换行和多余空白的 SQL，用于日志、结果和执行计划缓存的键
+         */
+        private final String sql;
+
+        private final List<Object> parameters;
+
+        private final List<String> reasons;
+
+        private final long elapsedNanos;
+
+        private final long rows;
+
+        Execution(MappedStatement statement, String statementName, BoundSql boundSql, List<Object> parameters,
+                  List<String> reasons, long elapsedNanos, long rows) {
+            this.statement = statement;
+            this.statementName = statementName;
+            this.boundSql = boundSql;
+            this.rawSql = boundSql.getSql();
+            this.sql = rawSql.replaceAll("\\s+", " ").trim();
+            this.parameters = parameters;
+            this.reasons = reasons;
+            this.elapsedNanos = elapsedNanos;
+            this.rows = rows;
+        }
+
+        double elapsedMs() {
+            return elapsedNanos / 1_000_000.0;
+        }
+
+        List<String> parameterTexts() {
+            List<String> texts = new ArrayList<>(parameters.size());
+            for (Object value : parameters) {
+                String text = String.valueOf(value);
+                texts.add(text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text);
+            }
+            return texts;
+        }
+    }
+
+    private static class LogWindow {
+
+        private boolean logged;
+
+        private long lastLoggedNanos;
+
+        private long suppressed;
+    }
+}
@@ -1,16 +1,22 @@
 package com.drycleaning.system.service.impl;
 
+import com.drycleaning.system.dto.CustomerRanking;
+import com.drycleaning.system.mapper.CustomerMapper;
 import com.drycleaning.system.mapper.OrderMapper;
 import com.drycleaning.system.mapper.RechargeRecordMapper;
-import com.drycleaning.system.model.Order;
-import com.drycleaning.system.model.RechargeRecord;
+import com.drycleaning.system.model.DailyStats;
+import com.drycleaning.system.service.DailyStatsService;
 import com.drycleaning.system.service.StatisticsService;
+import com.drycleaning.system.util.MoneyUtil;
+import com.drycleaning.system.util.TimeUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,39 +24,37 @@ import java.util.Map;
 @Service
 public class StatisticsServiceImpl implements StatisticsService {
 
+    /**
+     * 统计序列允许的最大区间（约 10 年）
+     */
+    private static final int MAX_SERIES_DAYS = 3660;
+
+    /**
+     * 客户排行榜最多返回的名次数
+     */
+    private static final int MAX_TOP_K = 100;
+
+    @Autowired
+    private OrderStatusCounter orderStatusCounter;
+
+    @Autowired
+    private CustomerMapper customerMapper;
+
     @Autowired
     private OrderMapper orderMapper;
 
     @Autowired
     private RechargeRecordMapper rechargeRecordMapper;
 
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
     @Override
     public Double getDailyIncome(LocalDate date) {
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-
-        List<Order> orders = orderMapper.selectList(null);
         // 今日收入 = 现金收入 + 储值充值（客户存的钱）
         // 不包括储值支付的订单（因为用的是余额）
-        Double cashIncome = orders.stream()
-                .filter(order -> order.getCreateTime() != null)
-                .filter(order -> {
-                    try {
-                        LocalDateTime createTime = LocalDateTime.parse(order.getCreateTime());
-                        return createTime.isAfter(startOfDay) && createTime.isBefore(endOfDay);
-                    } catch (Exception e) {
-                        return false;
-                    }
-                })
-                // 只统计现金支付
-                .filter(order -> "CASH".equalsIgnoreCase(order.getPayType()))
-                .mapToDouble(Order::getTotalPrice)
-                .sum();
-        
-        // 加上当天的充值金额
-        Double rechargeAmount = getPrepaidIncome(date);
-        
-        return cashIncome + rechargeAmount;
+        DailyStats stats = dailyStatsService.getDailyStats(date);
+        return MoneyUtil.toYuan(stats.getCashIncomeCents() + stats.getRechargeAmountCents());
     }
 
     @Override
@@ -58,124 +62,59 @@ public class StatisticsServiceImpl implements StatisticsService {
         LocalDate startDate = LocalDate.of(year, month, 1);
         LocalDate endDate = startDate.plusMonths(1);
 
-        LocalDateTime startOfMonth = startDate.atStartOfDay();
-        LocalDateTime endOfMonth = endDate.atStartOfDay();
-
-        List<Order> orders = orderMapper.selectList(null);
-        // 月度收入 = 现金收入 + 储值充值
-        Double cashIncome = orders.stream()
-                .filter(order -> order.getCreateTime() != null)
-                .filter(order -> {
-                    try {
-                        LocalDateTime createTime = LocalDateTime.parse(order.getCreateTime());
-                        return createTime.isAfter(startOfMonth) && createTime.isBefore(endOfMonth);
-                    } catch (Exception e) {
-                        return false;
-                    }
-                })
-                // 只统计现金支付
-                .filter(order -> "CASH".equalsIgnoreCase(order.getPayType()))
-                .mapToDouble(Order::getTotalPrice)
-                .sum();
-        
-        // 加上当月充值金额
-        List<RechargeRecord> records = rechargeRecordMapper.selectList(null);
-        Double rechargeAmount = records.stream()
-                .filter(record -> record.getCreateTime() != null)
-                .filter(record -> {
-                    try {
-                        LocalDateTime createTime = LocalDateTime.parse(record.getCreateTime());
-                        return createTime.isAfter(startOfMonth) && createTime.isBefore(endOfMonth);
-                    } catch (Exception e) {
-                        return false;
-                    }
-                })
-                .mapToDouble(RechargeRecord::getRechargeAmount)
-                .sum();
-        
-        return cashIncome + rechargeAmount;
+        // 月度收入 = 现金收入 + 储值充值，最多合计 31 行汇总
+        DailyStats stats = dailyStatsService.sumBetween(startDate, endDate);
+        return MoneyUtil.toYuan(stats.getCashIncomeCents() + stats.getRechargeAmountCents());
     }
 
     @Override
     public Double getCashIncome(LocalDate date) {
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-
-        List<Order> orders = orderMapper.selectList(null);
         // 现金收入 = 当天现金支付的订单金额
-        return orders.stream()
-                .filter(order -> "CASH".equalsIgnoreCase(order.getPayType()))
-                .filter(order -> order.getCreateTime() != null)
-                .filter(order -> {
-                    try {
-                        LocalDateTime createTime = LocalDateTime.parse(order.getCreateTime());
-                        return createTime.isAfter(startOfDay) && createTime.isBefore(endOfDay);
-                    } catch (Exception e) {
-                        return false;
-                    }
-                })
-                .mapToDouble(Order::getTotalPrice)
-                .sum();
+        return MoneyUtil.toYuan(dailyStatsService.getDailyStats(date).getCashIncomeCents());
     }
 
     @Override
     public Double getPrepaidIncome(LocalDate date) {
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-
-        // 储值收入 = 当天客户充值的金额（从充值记录表统计）
-        List<RechargeRecord> records = rechargeRecordMapper.selectList(null);
-        return records.stream()
-                .filter(record -> record.getCreateTime() != null)
-                .filter(record -> {
-                    try {
-                        LocalDateTime createTime = LocalDateTime.parse(record.getCreateTime());
-                        return createTime.isAfter(startOfDay) && createTime.isBefore(endOfDay);
-                    } catch (Exception e) {
-                        return false;
-                    }
-                })
-                .mapToDouble(RechargeRecord::getRechargeAmount)
-                .sum();
+        // 储值收入 = 当天客户充值的金额（从充值记录汇总统计）
+        return MoneyUtil.toYuan(dailyStatsService.getDailyStats(date).getRechargeAmountCents());
     }
 
     @Override
     public Long getUnfinishedOrderCount() {
-        List<Order> orders = orderMapper.selectList(null);
-        return orders.stream()
-                .filter(order -> !"FINISHED".equals(order.getStatus()))
-                .count();
+        return orderStatusCounter.getUnfinishedCount();
+    }
+
+    @Override
+    public Map<String, Long> getOrderCountByStatus() {
+        return orderStatusCounter.getCountsByStatus();
     }
 
     @Override
     public Long getTodayOrderCount(LocalDate date) {
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-
-        List<Order> orders = orderMapper.selectList(null);
-        return orders.stream()
-                .filter(order -> order.getCreateTime() != null)
-                .filter(order -> {
-                    try {
-                        LocalDateTime createTime = LocalDateTime.parse(order.getCreateTime());
-                        return createTime.isAfter(startOfDay) && createTime.isBefore(endOfDay);
-                    } catch (Exception e) {
-                        return false;
-                    }
-                })
-                .count();
+        return dailyStatsService.getDailyStats(date).getOrderCount();
     }
 
     @Override
     public Map<String, Object> getDailyStatistics(LocalDate date) {
+        // 所有日指标都来自同一行汇总，只查询一次
+        DailyStats daily = dailyStatsService.getDailyStats(date);
         Map<String, Object> stats = new HashMap<>();
-        stats.put("dailyIncome", getDailyIncome(date));
-        stats.put("cashIncome", getCashIncome(date));
-        stats.put("prepaidIncome", getPrepaidIncome(date));
+        stats.put("dailyIncome", MoneyUtil.toYuan(daily.getCashIncomeCents() + daily.getRechargeAmountCents()));
+        stats.put("cashIncome", MoneyUtil.toYuan(daily.getCashIncomeCents()));
+        stats.put("prepaidIncome", MoneyUtil.toYuan(daily.getRechargeAmountCents()));
+        stats.put("orderCount", daily.getOrderCount());
         stats.put("date", date);
         return stats;
     }
 
+    @Override
+    public Map<String, Object> getDashboardStatistics(LocalDate date) {
+        Map<String, Object> stats = getDailyStatistics(date);
+        stats.put("unfinishedOrderCount", getUnfinishedOrderCount());
+        stats.put("customerCount", customerMapper.selectCount(null));
+        return stats;
+    }
+
     @Override
     public Map<String, Object> getMonthlyStatistics(int year, int month) {
         Map<String, Object> stats = new HashMap<>();
@@ -184,4 +123,120 @@ public class StatisticsServiceImpl implements StatisticsService {
         stats.put("month", month);
         return stats;
     }
+
+    @Override
+    public Map<String, Object> getSeries(LocalDate from, LocalDate to, String granularity) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("起始日期不能晚于结束日期");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_SERIES_DAYS) {
+            throw new IllegalArgumentException("统计区间不能超过 " + MAX_SERIES_DAYS + " 天");
+        }
+        String unit = granularity == null ? "day" : granularity.toLowerCase();
+        if (!"day".equals(unit) && !"week".equals(unit) && !"month".equals(unit)) {
+            throw new IllegalArgumentException("不支持的统计粒度：" + granularity);
+        }
+
+        // 先生成连续的桶，再把区间内的每日汇总（分）累加进对应的桶，最后统一换算为元
+        List<String> labels = new ArrayList<>();
+        for (LocalDate start = bucketStart(from, unit); !start.isAfter(to); start = nextBucket(start, unit)) {
+            labels.add(start.toString());
+        }
+        int size = labels.size();
+        long[] cash = new long[size];
+        long[] recharge = new long[size];
+        long[] count = new long[size];
+
+        LocalDate firstBucket = bucketStart(from, unit);
+        for (DailyStats daily : dailyStatsService.findBetween(from, to.plusDays(1))) {
+            int index = bucketIndex(firstBucket, LocalDate.parse(daily.getStatDate()), unit);
+            cash[index] += daily.getCashIncomeCents();
+            recharge[index] += daily.getRechargeAmountCents();
+            count[index] += daily.getOrderCount();
+        }
+        double[] income = new double[size];
+        double[] cashYuan = new double[size];
+        double[] rechargeYuan = new double[size];
+        for (int i = 0; i < size; i++) {
+            income[i] = MoneyUtil.toYuan(cash[i] + recharge[i]);
+            cashYuan[i] = MoneyUtil.toYuan(cash[i]);
+            rechargeYuan[i] = MoneyUtil.toYuan(recharge[i]);
+        }
+
+        Map<String, Object> series = new HashMap<>();
+        series.put("from", from);
+        series.put("to", to);
+        series.put("granularity", unit);
+        series.put("labels", labels);
+        series.put("income", income);
+        series.put("cashIncome", cashYuan);
+        series.put("rechargeAmount", rechargeYuan);
+        series.put("orderCount", count);
+        return series;
+    }
+
+    @Override
+    public List<CustomerRanking> getTopCustomers(LocalDate from, LocalDate to, String by, int k) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("起始日期不能晚于结束日期");
+        }
+        if (k < 1 || k > MAX_TOP_K) {
+            throw new IllegalArgumentException("k 必须在 1 ~ " + MAX_TOP_K + " 之间");
+        }
+        Long fromTs = from != null ? TimeUtil.startOfDay(from) : null;
+        Long toTs = to != null ? TimeUtil.startOfDay(to.plusDays(1)) : null;
+
+        String metric = by == null ? "spend" : by.toLowerCase();
+        List<CustomerRanking> ranking;
+        switch (metric) {
+            case "spend":
+                ranking = orderMapper.findTopCustomers(fromTs, toTs, false, k);
+                break;
+            case "orders":
+                ranking = orderMapper.findTopCustomers(fromTs, toTs, true, k);
+                break;
+            case "recharge":
+                ranking = rechargeRecordMapper.findTopCustomers(fromTs, toTs, k);
+                break;
+            default:
+                throw new IllegalArgumentException("不支持的排行依据：" + by);
+        }
+        for (int i = 0; i < ranking.size(); i++) {
+            ranking.get(i).setRank(i + 1);
+        }
+        return ranking;
+    }
+
+    private static LocalDate bucketStart(LocalDate date, String unit) {
+        switch (unit) {
+            case "week":
+                return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case "month":
+                return date.withDayOfMonth(1);
+            default:
+                return date;
+        }
+    }
+
+    private static LocalDate nextBucket(LocalDate start, String unit) {
+        switch (unit) {
+            case "week":
+                return start.plusWeeks(1);
+            case "month":
+                return start.plusMonths(1);
+            default:
+                return start.plusDays(1);
+        }
+    }
+
+    private static int bucketIndex(LocalDate firstBucket, LocalDate date, String unit) {
+        switch (unit) {
+            case "week":
+                return (int) ChronoUnit.WEEKS.between(firstBucket, date);
+            case "month":
+                return (int) ChronoUnit.MONTHS.between(firstBucket, date.withDayOfMonth(1));
+            default:
+                return (int) ChronoUnit.DAYS.between(firstBucket, date);
+        }
+    }
 }
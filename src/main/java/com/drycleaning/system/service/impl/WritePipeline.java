@@ -0,0 +1,338 @@
+package com.drycleaning.system.service.impl;
+
+import com.drycleaning.system.dto.WritePipelineStats;
+import com.drycleaning.system.util.TransactionUtil;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 写入队列：所有写事务交给唯一的写线程执行，并把短时间内到达的多个写操作合并到一个事务中提交（group commit）
+ * <p>
+ * 每个写操作在批事务中有自己的保存点，失败时只回滚到该保存点、丢弃它注册的提交后回调，
+ * 不影响同一批的其他写操作；事务提交后才完成各调用方的结果。
+ * 整批提交失败时（例如被其他进程锁住），逐个以单独的事务重新执行。
+ * <p>
+ * 由 WritePipelineAspect 对服务层的读写事务方法自动使用；已在事务中的调用（嵌套调用）直接执行。
+ */
+@Component
+public class WritePipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(WritePipeline.class);
+
+    /**
+     * 写线程等待新任务时检查是否已停止的间隔（毫秒）
+     */
+    private static final long POLL_INTERVAL_MS = 100;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Value("${write-pipeline.enabled:true}")
+    private boolean enabled;
+
+    @Value("${write-pipeline.batch-window-us:500}")
+    private long batchWindowUs;
+
+    @Value("${write-pipeline.max-batch-size:64}")
+    private int maxBatchSize;
+
+    @Value("${write-pipeline.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private BlockingQueue<Task<?>> queue;
+
+    private TransactionTemplate batchTransaction;
+
+    private TransactionTemplate savepointTransaction;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    private final AtomicLong submittedTasks = new AtomicLong();
+    private final AtomicLong completedTasks = new AtomicLong();
+    private final AtomicLong failedTasks = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchedTasks = new AtomicLong();
+    private final AtomicLong fallbackBatches = new AtomicLong();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private volatile int lastBatchSize;
+    private volatile int maxBatchSizeSeen;
+
+    /**
+     * 一个写操作，可以抛出任意异常（与被拦截的方法一致）
+     */
+    @FunctionalInterface
+    public interface WriteTask<T> {
+        T run() throws Throwable;
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        batchTransaction = new TransactionTemplate(transactionManager);
+        savepointTransaction = new TransactionTemplate(transactionManager);
+        savepointTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+
+        running = true;
+        writer = new Thread(this::runLoop, "write-pipeline");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        failPending();
+    }
+
+    /**
+     * 在写线程上执行写操作并等待事务提交
+     * 未启用、已在事务中或当前就是写线程时直接在当前线程执行
+     */
+    public <T> T execute(WriteTask<T> task) throws Throwable {
+        if (!enabled || !running || Thread.currentThread() == writer
+                || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return task.run();
+        }
+        Task<T> queued = new Task<>(task);
+        try {
+            queue.put(queued);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("提交写操作时被中断", e);
+        }
+        submittedTasks.incrementAndGet();
+        maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+        try {
+            return queued.future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            // 写操作仍会执行，只是调用方不再等待结果
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待写操作完成时被中断", e);
+        }
+    }
+
+    public WritePipelineStats getStats() {
+        WritePipelineStats stats = new WritePipelineStats();
+        stats.setQueueDepth(queue.size());
+        stats.setMaxQueueDepth(maxQueueDepth.get());
+        stats.setSubmittedTasks(submittedTasks.get());
+        stats.setCompletedTasks(completedTasks.get());
+        stats.setFailedTasks(failedTasks.get());
+        long batchCount = batches.get();
+        stats.setBatches(batchCount);
+        stats.setLastBatchSize(lastBatchSize);
+        stats.setMaxBatchSize(maxBatchSizeSeen);
+        stats.setAverageBatchSize(batchCount == 0 ? 0 : (double) batchedTasks.get() / batchCount);
+        stats.setFallbackBatches(fallbackBatches.get());
+        return stats;
+    }
+
+    private void runLoop() {
+        List<Task<?>> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            Task<?> first;
+            try {
+                first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // 写线程停止后，新的写操作改为在调用线程上直接执行
+                logger.warn("Write pipeline interrupted, falling back to direct writes");
+                running = false;
+                failPending();
+                break;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            collect(batch);
+            try {
+                executeBatch(batch);
+            } catch (RuntimeException e) {
+                logger.error("Write pipeline failed to execute a batch", e);
+                for (Task<?> task : batch) {
+                    task.future.completeExceptionally(e);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * 在攒批等待时间内继续收集任务，直到达到每批最大任务数
+     */
+    private void collect(List<Task<?>> batch) {
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(batchWindowUs);
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            Task<?> task;
+            try {
+                task = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (task == null) {
+                break;
+            }
+            batch.add(task);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private void executeBatch(List<Task<?>> batch) {
+        if (batch.size() == 1) {
+            // 只有一个任务时不需要保存点，由方法自身的 @Transactional 开启事务
+            runAlone(batch.get(0));
+        } else {
+            try {
+                batchTransaction.executeWithoutResult(status -> {
+                    for (Task<?> task : batch) {
+                        runInSavepoint(task);
+                    }
+                });
+            } catch (RuntimeException | Error e) {
+                logger.warn("Group commit of {} writes failed, retrying one by one: {}", batch.size(), e.getMessage());
+                fallbackBatches.incrementAndGet();
+                for (Task<?> task : batch) {
+                    runAlone(task);
+                }
+            }
+        }
+
+        for (Task<?> task : batch) {
+            (task.error == null ? completedTasks : failedTasks).incrementAndGet();
+            task.complete();
+        }
+        batches.incrementAndGet();
+        batchedTasks.addAndGet(batch.size());
+        lastBatchSize = batch.size();
+        if (batch.size() > maxBatchSizeSeen) {
+            maxBatchSizeSeen = batch.size();
+        }
+    }
+
+    private void failPending() {
+        Task<?> task;
+        while ((task = queue.poll()) != null) {
+            task.future.completeExceptionally(new IllegalStateException("写入队列已关闭"));
+        }
+    }
+
+    private void runAlone(Task<?> task) {
+        try {
+            task.succeed(task.task.run());
+        } catch (Throwable e) {
+            task.fail(e);
+        }
+    }
+
+    private void runInSavepoint(Task<?> task) {
+        List<TransactionSynchronization> before = TransactionSynchronizationManager.getSynchronizations();
+        try {
+            task.succeed(savepointTransaction.execute(status -> {
+                try {
+                    return task.task.run();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new CheckedTaskException(e);
+                }
+            }));
+        } catch (CheckedTaskException e) {
+            discardRolledBackState(before);
+            task.fail(e.getCause());
+        } catch (RuntimeException | Error e) {
+            discardRolledBackState(before);
+            task.fail(e);
+        }
+    }
+
+    /**
+     * 回滚到保存点后：丢弃失败任务注册的提交后回调，并清空 MyBatis 一级缓存（可能缓存了已回滚的数据）
+     */
+    private void discardRolledBackState(List<TransactionSynchronization> before) {
+        TransactionUtil.discardAfterCommitActions(before);
+        SqlSessionHolder holder = (SqlSessionHolder) TransactionSynchronizationManager.getResource(sqlSessionFactory);
+        if (holder != null) {
+            holder.getSqlSession().clearCache();
+        }
+    }
+
+    private static class Task<T> {
+
+        private final WriteTask<T> task;
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Object result;
+
+        private Throwable error;
+
+        Task(WriteTask<T> task) {
+            this.task = task;
+        }
+
+        void succeed(Object result) {
+            this.result = result;
+            this.error = null;
+        }
+
+        void fail(Throwable error) {
+            this.result = null;
+            this.error = error;
+        }
+
+        @SuppressWarnings("unchecked")
+        void complete() {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete((T) result);
+            }
+        }
+    }
+
+    /**
+     * 在事务回调中传递任务抛出的受检异常
+     */
+    private static class CheckedTaskException extends RuntimeException {
+
+        CheckedTaskException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.drycleaning.system.util;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.drycleaning.system.dto.CursorPage;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 游标（keyset）分页工具类
+ * 以主键倒序翻页：WHERE id < cursor ORDER BY id DESC LIMIT n，每页的代价与历史数据量无关；
+ * LIMIT 由 MybatisPlusConfig 中注册的分页插件生成（不做 COUNT 查询）
+ */
+public class KeysetPagination {
+
+    /**
+     * 未指定 limit 时每页条数
+     */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /**
+     * 每页最大条数
+     */
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * 以分存储的金额属性的后缀
+     */
+    private static final String MONEY_SUFFIX = "Cents";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * 查询一页数据
+     * @param mapper 实体对应的 Mapper
+     * @param entityClass 实体类型
+     * @param cursor 上一页返回的 nextCursor（为 null 时从最新的数据开始）
+     * @param limit 每页条数（1 ~ MAX_LIMIT）
+     * @param fields 逗号分隔的属性名（可选），只查询这些列，主键总是包含
+     * @return 当前页数据和下一页游标
+     * @throws IllegalArgumentException 当 limit 超出范围或 fields 包含未知属性时抛出
+     */
+    public static <T> CursorPage<T> selectPage(BaseMapper<T> mapper, Class<T> entityClass,
+                                               Long cursor, int limit, String fields) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit 必须在 1 ~ " + MAX_LIMIT + " 之间");
+        }
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(entityClass);
+        QueryWrapper<T> wrapper = new QueryWrapper<>();
+        if (fields != null) {
+            wrapper.select(columns(tableInfo, fields));
+        }
+        if (cursor != null) {
+            wrapper.lt(tableInfo.getKeyColumn(), cursor);
+        }
+        wrapper.orderByDesc(tableInfo.getKeyColumn());
+
+        // 多取一行用来判断是否还有下一页
+        List<T> rows = mapper.selectPage(new Page<>(1, limit + 1, false), wrapper).getRecords();
+        Long nextCursor = null;
+        if (rows.size() > limit) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+            Object key = tableInfo.getPropertyValue(rows.get(limit - 1), tableInfo.getKeyProperty());
+            nextCursor = ((Number) key).longValue();
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    /**
+     * 按 fields 裁剪返回的属性（未指定 fields 时原样返回），主键总是包含
+     */
+    public static <T> CursorPage<?> project(CursorPage<T> page, Class<T> entityClass, String fields) {
+        if (fields == null) {
+            return page;
+        }
+        Set<String> properties = parseFields(fields);
+        properties.add(TableInfoHelper.getTableInfo(entityClass).getKeyProperty());
+        List<Map<String, Object>> items = new ArrayList<>(page.getItems().size());
+        for (T item : page.getItems()) {
+            Map<String, Object> json = OBJECT_MAPPER.convertValue(item, LinkedHashMap.class);
+            json.keySet().retainAll(properties);
+            items.add(json);
+        }
+        return new CursorPage<>(items, page.getNextCursor());
+    }
+
+    /**
+     * 将属性名转换为列名，只允许接口中可见（没有 @JsonIgnore）的列；
+     * 以分存储的金额属性（xxxCents）在接口中以 xxx 输出，按 xxx 请求
+     */
+    private static String[] columns(TableInfo tableInfo, String fields) {
+        Map<String, String> visible = new LinkedHashMap<>();
+        visible.put(tableInfo.getKeyProperty(), tableInfo.getKeyColumn());
+        for (TableFieldInfo fieldInfo : tableInfo.getFieldList()) {
+            String property = fieldInfo.getProperty();
+            if (!fieldInfo.getField().isAnnotationPresent(JsonIgnore.class)) {
+                visible.put(property, fieldInfo.getColumn());
+            } else if (property.endsWith(MONEY_SUFFIX)) {
+                visible.put(property.substring(0, property.length() - MONEY_SUFFIX.length()), fieldInfo.getColumn());
+            }
+        }
+
+        Set<String> columns = new LinkedHashSet<>();
+        columns.add(tableInfo.getKeyColumn());
+        for (String property : parseFields(fields)) {
+            String column = visible.get(property);
+            if (column == null) {
+                throw new IllegalArgumentException("未知字段：" + property);
+            }
+            columns.add(column);
+        }
+        return columns.toArray(new String[0]);
+    }
+
+    private static Set<String> parseFields(String fields) {
+        Set<String> properties = new LinkedHashSet<>();
+        for (String property : fields.split(",")) {
+            if (!property.trim().isEmpty()) {
+                properties.add(property.trim());
+            }
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,68 @@
+package com.drycleaning.system.util;
+
+/**
+ * 金额工具类 - 金额在数据库和业务计算中统一以 long 分表示，只在接口边界与元（小数）互相转换
+ */
+public class MoneyUtil {
+
+    public static final long CENTS_PER_YUAN = 100;
+
+    /**
+     * 元转换为分（四舍五入到分）
+     */
+    public static long toCents(double yuan) {
+        return Math.round(yuan * CENTS_PER_YUAN);
+    }
+
+    /**
+     * 元转换为分，null 仍为 null（用于实体的可空属性）
+     */
+    public static Long toCents(Double yuan) {
+        return yuan != null ? toCents(yuan.doubleValue()) : null;
+    }
+
+    /**
+     * 分转换为元，用于 JSON 输出
+     */
+    public static double toYuan(long cents) {
+        return (double) cents / CENTS_PER_YUAN;
+    }
+
+    /**
+     * 分转换为元，null 仍为 null（用于实体的可空属性）
+     */
+    public static Double toYuan(Long cents) {
+        return cents != null ? toYuan(cents.longValue()) : null;
+    }
+
+    /**
+     * 按百分比计算金额（如赠送金额），结果四舍五入到分
+     */
+    public static long percentOf(long cents, int percent) {
+        long product = cents * percent;
+        return (product >= 0 ? product + 50 : product - 50) / 100;
+    }
+
+    /**
+     * 充值的阶梯赠送金额：充值 >= 200 元送 20%，>= 100 元送 10%，不足 100 元不赠送
+     */
+    public static long rechargeGiftCents(long amountCents) {
+        if (amountCents >= 200 * CENTS_PER_YUAN) {
+            return percentOf(amountCents, 20);
+        } else if (amountCents >= 100 * CENTS_PER_YUAN) {
+            return percentOf(amountCents, 10);
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * 格式化为两位小数的元，用于提示信息
+     */
+    public static String format(long cents) {
+        String sign = cents < 0 ? "-" : "";
+        long abs = Math.abs(cents);
+        long fraction = abs % CENTS_PER_YUAN;
+        return sign + abs / CENTS_PER_YUAN + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+}
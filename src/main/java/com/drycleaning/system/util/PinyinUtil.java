@@ -6,109 +6,248 @@ import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
 import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
 import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 拼音工具类 - 支持中文转拼音
+ * 0x4E00 ~ 0x9FA5 的读音在首次使用时从 pinyin4j 一次性生成查找表，之后的转换只查数组，
+ * 除返回的字符串外不产生临时对象
  */
 public class PinyinUtil {
 
+    private static final char FIRST_CJK = 0x4e00;
+    private static final char LAST_CJK = 0x9fa5;
+
+    /**
+     * 多音字姓氏及其作姓时的读音（pinyin4j 默认取第一个读音，如 曾 -> ceng）
+     * 姓名的第一个字使用这里的读音
+     */
+    private static final String SURNAME_CHARS = "曾单解区仇朴查盖乐召缪繁覃员种秘重柏都句贲洗";
+    private static final char[][] SURNAME_READINGS = {
+            "zeng".toCharArray(), "shan".toCharArray(), "xie".toCharArray(), "ou".toCharArray(),
+            "qiu".toCharArray(), "piao".toCharArray(), "zha".toCharArray(), "ge".toCharArray(),
+            "yue".toCharArray(), "shao".toCharArray(), "miao".toCharArray(), "po".toCharArray(),
+            "qin".toCharArray(), "yun".toCharArray(), "chong".toCharArray(), "bi".toCharArray(),
+            "chong".toCharArray(), "bai".toCharArray(), "du".toCharArray(), "gou".toCharArray(),
+            "ben".toCharArray(), "xian".toCharArray()
+    };
+
+    /**
+     * 每个线程复用的拼接缓冲区
+     */
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+    private static final int MAX_BUFFER_CAPACITY = 1024;
+
     /**
      * 将中文转换为拼音（首字母缩写）
-     * 例如："张三" -> "zs"
+     * 例如："张三" -> "zs"，"曾小明" -> "zxm"
      */
     public static String toPinyinInitials(String chinese) {
         if (chinese == null || chinese.trim().isEmpty()) {
             return "";
         }
-        
-        StringBuilder pinyin = new StringBuilder();
-        HanyuPinyinOutputFormat format = new HanyuPinyinOutputFormat();
-        format.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
-        format.setVCharType(HanyuPinyinVCharType.WITH_V);
-        
-        char[] chars = chinese.toCharArray();
-        try {
-            for (char c : chars) {
-                if (c >= 0x4e00 && c <= 0x9fa5) {
-                    String[] pinyinArray = PinyinHelper.toHanyuPinyinStringArray(c, format);
-                    if (pinyinArray != null && pinyinArray.length > 0) {
-                        pinyin.append(pinyinArray[0].charAt(0));
-                    } else {
-                        pinyin.append(c);
-                    }
-                } else if (Character.isLetterOrDigit(c)) {
-                    pinyin.append(c);
-                }
-            }
-        } catch (BadHanyuPinyinOutputFormatCombination e) {
-            e.printStackTrace();
-        }
-        
-        return pinyin.toString().toLowerCase();
+        StringBuilder pinyin = buffer();
+        appendPinyin(chinese, false, true, pinyin);
+        return pinyin.toString();
     }
 
     /**
      * 将中文转换为完整拼音
-     * 例如："张三" -> "zhangsan"
+     * 例如："张三" -> "zhangsan"，"曾小明" -> "zengxiaoming"
      */
     public static String toFullPinyin(String chinese) {
         if (chinese == null || chinese.trim().isEmpty()) {
             return "";
         }
-        
-        StringBuilder pinyin = new StringBuilder();
-        HanyuPinyinOutputFormat format = new HanyuPinyinOutputFormat();
-        format.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
-        format.setVCharType(HanyuPinyinVCharType.WITH_V);
-        
-        char[] chars = chinese.toCharArray();
-        try {
-            for (char c : chars) {
-                if (c >= 0x4e00 && c <= 0x9fa5) {
-                    String[] pinyinArray = PinyinHelper.toHanyuPinyinStringArray(c, format);
-                    if (pinyinArray != null && pinyinArray.length > 0) {
-                        pinyin.append(pinyinArray[0]);
-                    } else {
-                        pinyin.append(c);
-                    }
-                } else if (Character.isLetterOrDigit(c)) {
-                    pinyin.append(c);
-                }
-            }
-        } catch (BadHanyuPinyinOutputFormatCombination e) {
-            e.printStackTrace();
-        }
-        
-        return pinyin.toString().toLowerCase();
+        StringBuilder pinyin = buffer();
+        appendPinyin(chinese, true, true, pinyin);
+        return pinyin.toString();
+    }
+
+    /**
+     * 存入客户拼音首字母列、用于搜索的文本：姓氏为多音字时依次为作姓时的读音和普通读音，以空格分隔
+     * 例如："张三" -> "zs"，"曾小明" -> "zxm cxm"
+     */
+    public static String toSearchPinyinInitials(String chinese) {
+        return toSearchPinyin(chinese, false);
+    }
+
+    /**
+     * 存入客户完整拼音列、用于搜索的文本，规则同 toSearchPinyinInitials
+     * 例如："张三" -> "zhangsan"，"曾小明" -> "zengxiaoming cengxiaoming"
+     */
+    public static String toSearchFullPinyin(String chinese) {
+        return toSearchPinyin(chinese, true);
     }
 
     /**
      * 检查中文是否匹配拼音（支持首字母和全拼）
      * 例如："张三" 匹配 "zs", "zhangsan", "zhang", "san"
+     * 姓氏为多音字时两种读音都能匹配，例如 "曾小明" 匹配 "zxm" 和 "cxm"
      */
     public static boolean matchesPinyin(String chinese, String pinyinInput) {
         if (chinese == null || pinyinInput == null) {
             return false;
         }
-        
+
         // 直接包含匹配
         if (chinese.contains(pinyinInput)) {
             return true;
         }
-        
+
         String input = pinyinInput.toLowerCase().trim();
-        String initials = toPinyinInitials(chinese);
-        String fullPinyin = toFullPinyin(chinese);
-        
-        // 首字母匹配
-        if (initials.contains(input)) {
+        if (matches(chinese, input, true)) {
             return true;
         }
-        
-        // 全拼匹配
-        if (fullPinyin.contains(input)) {
-            return true;
+        return startsWithPolyphonicSurname(chinese) && matches(chinese, input, false);
+    }
+
+    /**
+     * 姓名的第一个字是否为多音字姓氏
+     */
+    public static boolean startsWithPolyphonicSurname(String chinese) {
+        if (chinese == null) {
+            return false;
+        }
+        for (int i = 0; i < chinese.length(); i++) {
+            char c = chinese.charAt(i);
+            if (isCjk(c) || Character.isLetterOrDigit(c)) {
+                return SURNAME_CHARS.indexOf(c) >= 0;
+            }
         }
-        
         return false;
     }
+
+    /**
+     * 多音字姓氏列表，供数据库按 instr(?, substr(name, 1, 1)) 筛选需要重算拼音的客户
+     */
+    public static String polyphonicSurnames() {
+        return SURNAME_CHARS;
+    }
+
+    private static String toSearchPinyin(String chinese, boolean full) {
+        if (chinese == null || chinese.trim().isEmpty()) {
+            return "";
+        }
+        StringBuilder pinyin = buffer();
+        appendPinyin(chinese, full, true, pinyin);
+        if (startsWithPolyphonicSurname(chinese)) {
+            int length = pinyin.length();
+            pinyin.append(' ');
+            appendPinyin(chinese, full, false, pinyin);
+            // 首字母相同时（如 朴 piao / pu）不重复存储
+            if (pinyin.length() == 2 * length + 1 && pinyin.substring(0, length).equals(pinyin.substring(length + 1))) {
+                pinyin.setLength(length);
+            }
+        }
+        return pinyin.toString();
+    }
+
+    /**
+     * 首字母或全拼包含 input
+     */
+    private static boolean matches(String chinese, String input, boolean surnameReading) {
+        StringBuilder pinyin = buffer();
+        appendPinyin(chinese, false, surnameReading, pinyin);
+        if (pinyin.indexOf(input) >= 0) {
+            return true;
+        }
+        pinyin.setLength(0);
+        appendPinyin(chinese, true, surnameReading, pinyin);
+        return pinyin.indexOf(input) >= 0;
+    }
+
+    /**
+     * 汉字追加读音（或首字母），没有读音的汉字原样追加，字母数字转小写追加，其他字符忽略
+     */
+    private static void appendPinyin(String chinese, boolean full, boolean surnameReading, StringBuilder out) {
+        boolean first = true;
+        for (int i = 0; i < chinese.length(); i++) {
+            char c = chinese.charAt(i);
+            if (isCjk(c)) {
+                int surname = first && surnameReading ? SURNAME_CHARS.indexOf(c) : -1;
+                int offset = c - FIRST_CJK;
+                if (surname >= 0) {
+                    char[] reading = SURNAME_READINGS[surname];
+                    if (full) {
+                        out.append(reading);
+                    } else {
+                        out.append(reading[0]);
+                    }
+                } else if (Table.SYLLABLE_INDEX[offset] < 0) {
+                    out.append(c);
+                } else if (full) {
+                    out.append(Table.SYLLABLES[Table.SYLLABLE_INDEX[offset]]);
+                } else {
+                    out.append((char) Table.INITIALS[offset]);
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                out.append(Character.toLowerCase(c));
+            } else {
+                continue;
+            }
+            first = false;
+        }
+    }
+
+    private static boolean isCjk(char c) {
+        return c >= FIRST_CJK && c <= LAST_CJK;
+    }
+
+    private static StringBuilder buffer() {
+        StringBuilder buffer = BUFFER.get();
+        if (buffer.capacity() > MAX_BUFFER_CAPACITY) {
+            buffer = new StringBuilder(64);
+            BUFFER.set(buffer);
+        }
+        buffer.setLength(0);
+        return buffer;
+    }
+
+    /**
+     * 读音查找表（首次访问时构建，约 2 万个汉字、400 余个不同读音）
+     * INITIALS[c - 0x4E00]：首字母；SYLLABLE_INDEX[c - 0x4E00]：读音在 SYLLABLES 中的下标，-1 表示没有读音
+     */
+    private static final class Table {
+
+        static final byte[] INITIALS = new byte[LAST_CJK - FIRST_CJK + 1];
+        static final short[] SYLLABLE_INDEX = new short[LAST_CJK - FIRST_CJK + 1];
+        static final char[][] SYLLABLES;
+
+        static {
+            HanyuPinyinOutputFormat format = new HanyuPinyinOutputFormat();
+            format.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+            format.setVCharType(HanyuPinyinVCharType.WITH_V);
+
+            Map<String, Short> interned = new HashMap<>();
+            List<char[]> syllables = new ArrayList<>();
+            for (char c = FIRST_CJK; c <= LAST_CJK; c++) {
+                int offset = c - FIRST_CJK;
+                String[] readings;
+                try {
+                    readings = PinyinHelper.toHanyuPinyinStringArray(c, format);
+                } catch (BadHanyuPinyinOutputFormatCombination e) {
+                    throw new IllegalStateException("Invalid pinyin output format", e);
+                }
+                if (readings == null || readings.length == 0 || readings[0].isEmpty()) {
+                    SYLLABLE_INDEX[offset] = -1;
+                    continue;
+                }
+                String syllable = readings[0].toLowerCase();
+                Short index = interned.get(syllable);
+                if (index == null) {
+                    index = (short) syllables.size();
+                    interned.put(syllable, index);
+                    syllables.add(syllable.toCharArray());
+                }
+                SYLLABLE_INDEX[offset] = index;
+                INITIALS[offset] = (byte) syllable.charAt(0);
+            }
+            SYLLABLES = syllables.toArray(new char[0][]);
+        }
+    }
 }
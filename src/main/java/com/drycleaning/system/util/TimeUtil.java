@@ -0,0 +1,25 @@
+package com.drycleaning.system.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 时间工具类 - 本地时间与 epoch 毫秒之间的转换
+ */
+public class TimeUtil {
+
+    /**
+     * 将本地时间转换为 epoch 毫秒（按系统默认时区）
+     */
+    public static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 某一天零点的 epoch 毫秒，用于 [startOfDay(d), startOfDay(d + 1)) 形式的区间查询
+     */
+    public static long startOfDay(LocalDate date) {
+        return toEpochMilli(date.atStartOfDay());
+    }
+}
@@ -0,0 +1,53 @@
+package com.drycleaning.system.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * 事务工具类 - 用于在事务提交后同步内存状态
+ */
+public class TransactionUtil {
+
+    /**
+     * 在当前事务提交后执行，回滚时不执行；没有事务时立即执行
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new AfterCommitAction(action));
+    }
+
+    /**
+     * 丢弃 before 之后通过 afterCommit 注册的动作，其他同步回调（如 MyBatis 的会话同步）保留
+     * 用于回滚到保存点之后：被回滚的写操作不应在整个事务提交时再同步内存状态
+     * @param before 设置保存点前的 TransactionSynchronizationManager.getSynchronizations()
+     */
+    public static void discardAfterCommitActions(List<TransactionSynchronization> before) {
+        List<TransactionSynchronization> current = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        for (TransactionSynchronization synchronization : current) {
+            if (!(synchronization instanceof AfterCommitAction) || before.contains(synchronization)) {
+                TransactionSynchronizationManager.registerSynchronization(synchronization);
+            }
+        }
+    }
+
+    private static class AfterCommitAction implements TransactionSynchronization {
+
+        private final Runnable action;
+
+        AfterCommitAction(Runnable action) {
+            this.action = action;
+        }
+
+        @Override
+        public void afterCommit() {
+            action.run();
+        }
+    }
+}
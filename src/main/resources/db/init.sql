@@ -1,13 +1,17 @@
 -- 干洗店管理系统数据库初始化脚本
+-- 所有金额列（*_cents）均为整数分
 
 -- 客户表
 CREATE TABLE IF NOT EXISTS customer (
     id INTEGER PRIMARY KEY AUTOINCREMENT,
     name TEXT NOT NULL,
+    name_pinyin_initials TEXT,
+    name_pinyin_full TEXT,
     phone TEXT,
     wechat TEXT,
-    balance REAL DEFAULT 0,
-    create_time TEXT NOT NULL
+    balance_cents INTEGER NOT NULL DEFAULT 0,
+    create_time TEXT NOT NULL,
+    create_ts INTEGER
 );
 
 -- 订单表
@@ -15,13 +19,14 @@ CREATE TABLE IF NOT EXISTS orders (
     id INTEGER PRIMARY KEY AUTOINCREMENT,
     order_no TEXT NOT NULL UNIQUE,
     customer_id INTEGER NOT NULL,
-    total_price REAL NOT NULL,
-    prepaid REAL DEFAULT 0,
+    total_price_cents INTEGER NOT NULL,
+    prepaid_cents INTEGER DEFAULT 0,
     pay_type TEXT,
     urgent INTEGER DEFAULT 0,
     status TEXT NOT NULL,
     expected_time TEXT,
     create_time TEXT NOT NULL,
+    create_ts INTEGER,
     FOREIGN KEY (customer_id) REFERENCES customer(id)
 );
 
@@ -30,23 +35,56 @@ CREATE TABLE IF NOT EXISTS clothes (
     id INTEGER PRIMARY KEY AUTOINCREMENT,
     order_id TEXT NOT NULL,
     type TEXT NOT NULL,
-    price REAL NOT NULL,
+    price_cents INTEGER NOT NULL,
     damage_remark TEXT,
     damage_image TEXT,
     status TEXT NOT NULL,
-    create_time TEXT NOT NULL
+    create_time TEXT NOT NULL,
+    create_ts INTEGER
 );
 
 -- 充值记录表
 CREATE TABLE IF NOT EXISTS recharge_record (
     id INTEGER PRIMARY KEY AUTOINCREMENT,
     customer_id INTEGER NOT NULL,
-    recharge_amount REAL NOT NULL,
-    gift_amount REAL NOT NULL,
+    recharge_amount_cents INTEGER NOT NULL,
+    gift_amount_cents INTEGER NOT NULL,
     create_time TEXT NOT NULL,
+    create_ts INTEGER,
     FOREIGN KEY (customer_id) REFERENCES customer(id)
 );
 
+-- 每日统计汇总表（订单、充值写入时在同一事务内增量维护）
+CREATE TABLE IF NOT EXISTS daily_stats (
+    stat_date TEXT PRIMARY KEY,
+    cash_income_cents INTEGER NOT NULL DEFAULT 0,
+    prepaid_volume_cents INTEGER NOT NULL DEFAULT 0,
+    recharge_amount_cents INTEGER NOT NULL DEFAULT 0,
+    gift_amount_cents INTEGER NOT NULL DEFAULT 0,
+    order_count INTEGER NOT NULL DEFAULT 0
+);
+
+-- 余额流水表（只追加；每次余额变动与流水在同一事务中写入）
+CREATE TABLE IF NOT EXISTS balance_ledger (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    customer_id INTEGER NOT NULL,
+    delta_cents INTEGER NOT NULL,
+    balance_after_cents INTEGER NOT NULL,
+    reason TEXT NOT NULL,
+    order_no TEXT,
+    recharge_record_id INTEGER,
+    create_time TEXT NOT NULL,
+    create_ts INTEGER NOT NULL
+);
+
+-- 余额快照表（每个客户保留最近一次快照，按流水重算余额时只需累加快照之后的流水）
+CREATE TABLE IF NOT EXISTS balance_snapshot (
+    customer_id INTEGER PRIMARY KEY,
+    ledger_id INTEGER NOT NULL,
+    balance_cents INTEGER NOT NULL,
+    create_time TEXT NOT NULL
+);
+
 -- 创建索引以提高查询性能
 CREATE INDEX IF NOT EXISTS idx_customer_phone ON customer(phone);
 CREATE INDEX IF NOT EXISTS idx_customer_name ON customer(name);
@@ -56,3 +94,6 @@ CREATE INDEX IF NOT EXISTS idx_orders_create_time ON orders(create_time);
 CREATE INDEX IF NOT EXISTS idx_clothes_order_id ON clothes(order_id);
 CREATE INDEX IF NOT EXISTS idx_clothes_status ON clothes(status);
 CREATE INDEX IF NOT EXISTS idx_recharge_record_customer_id ON recharge_record(customer_id);
+CREATE INDEX IF NOT EXISTS idx_recharge_record_create_time ON recharge_record(create_time);
+CREATE INDEX IF NOT EXISTS idx_balance_ledger_customer_id ON balance_ledger(customer_id, id);
+CREATE INDEX IF NOT EXISTS idx_balance_ledger_customer_ts ON balance_ledger(customer_id, create_ts);
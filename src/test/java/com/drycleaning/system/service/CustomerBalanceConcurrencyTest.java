@@ -0,0 +1,128 @@
+package com.drycleaning.system.service;
+
+import com.drycleaning.system.enums.LedgerReason;
+import com.drycleaning.system.model.Customer;
+import com.drycleaning.system.util.MoneyUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 余额并发一致性：64 个线程对同一个客户随机充值 / 扣款（同时定时生成余额快照），
+ * 结束后余额 == 流水合计 == 初始余额 + 成功充值（含赠送）合计 - 成功扣款合计，且余额从未为负
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "logging.level.com.drycleaning.system=WARN")
+class CustomerBalanceConcurrencyTest {
+
+    private static final int THREADS = 64;
+
+    private static final int OPERATIONS_PER_THREAD = 50;
+
+    private static final long INITIAL_BALANCE_CENTS = 100_000;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private RechargeRecordService rechargeRecordService;
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    /**
+     * 每次运行使用新的临时数据库，不会写到工作目录下的 dry_cleaning.db
+     */
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        File db = Files.createTempFile("balance-concurrency-", ".db").toFile();
+        db.deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + db.getAbsolutePath());
+    }
+
+    @Test
+    void concurrentRechargesAndPaymentsNeitherCreateNorLoseMoney() throws Exception {
+        Customer customer = new Customer();
+        customer.setName("并发测试");
+        customer.setBalanceCents(INITIAL_BALANCE_CENTS);
+        Long customerId = customerService.createCustomer(customer).getId();
+
+        AtomicLong creditedCents = new AtomicLong();
+        AtomicLong debitedCents = new AtomicLong();
+        AtomicLong negativeSeen = new AtomicLong();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long seed = t;
+            workers.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    long amountCents = 1 + random.nextInt(20_000);
+                    long balanceCents;
+                    if (random.nextInt(100) < 55) {
+                        try {
+                            balanceCents = customerService.debit(customerId, amountCents, LedgerReason.PAYMENT, null);
+                        } catch (IllegalArgumentException e) {
+                            // 余额不足：不扣款
+                            continue;
+                        }
+                        debitedCents.addAndGet(amountCents);
+                    } else {
+                        long giftCents = amountCents >= 10_000 ? MoneyUtil.percentOf(amountCents, 10) : 0;
+                        balanceCents = rechargeRecordService.recharge(customerId, amountCents, giftCents);
+                        creditedCents.addAndGet(amountCents + giftCents);
+                    }
+                    if (balanceCents < 0) {
+                        negativeSeen.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        Future<?> snapshots = executor.submit(() -> {
+            start.await();
+            while (running.get()) {
+                balanceLedgerService.takeSnapshots();
+                Thread.sleep(20);
+            }
+            return null;
+        });
+
+        start.countDown();
+        try {
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            running.set(false);
+            snapshots.get();
+            executor.shutdown();
+        }
+
+        long balanceCents = customerService.getCustomerById(customerId).get().getBalanceCents();
+        assertEquals(0, negativeSeen.get(), "balance went negative");
+        assertEquals(INITIAL_BALANCE_CENTS + creditedCents.get() - debitedCents.get(), balanceCents);
+        assertEquals(balanceCents, balanceLedgerService.getLedgerBalanceCents(customerId));
+    }
+}